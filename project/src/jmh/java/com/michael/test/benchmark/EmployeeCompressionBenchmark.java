@@ -0,0 +1,69 @@
+package com.michael.test.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+//latency of the list and export endpoints over real HTTP with and without gzip; the client never decompresses,
+//so the body length is the bytes on the wire, printed once per trial
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class EmployeeCompressionBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean compression;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest listRequest;
+    private HttpRequest exportRequest;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET, "server.port=0", "server.compression.enabled=" + compression);
+        context.getBean(JdbcTemplate.class).update("insert into employees (id, first_name, last_name, email, version)" +
+                " select n, concat('First', n), concat('Last', n), concat('employee', n, '@gmail.com'), 0" +
+                " from system_range(1, ?) as r(n)", rows);
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        listRequest = request(port, "/api/v1/employee");
+        exportRequest = request(port, "/api/v1/employee/export");
+        System.out.printf("%ncompression=%s bytes on the wire: list=%d, export=%d%n", compression, list(), export());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int list() throws Exception {
+        return httpClient.send(listRequest, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+
+    @Benchmark
+    public int export() throws Exception {
+        return httpClient.send(exportRequest, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+
+    private static HttpRequest request(int port, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip")
+                .build();
+    }
+}
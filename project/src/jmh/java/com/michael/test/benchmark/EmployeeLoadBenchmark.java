@@ -0,0 +1,103 @@
+package com.michael.test.benchmark;
+
+import com.michael.test.entity.Employee;
+import com.michael.test.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+//concurrent clients against the EmployeeController endpoints, with the settings of application.properties
+//("default", SQL printed to stdout) and with the perf profile on top
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class EmployeeLoadBenchmark {
+
+    private static final int BULK_SIZE = 50;
+
+    @Param({"1000"})
+    private int employees;
+
+    @Param({"default", "perf"})
+    private String profile;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        context = "perf".equals(profile)
+                ? BenchmarkApplication.start(WebApplicationType.SERVLET, "server.port=0", "spring.profiles.active=perf")
+                : BenchmarkApplication.start(WebApplicationType.SERVLET, "server.port=0",
+                "spring.jpa.show-sql=true", "spring.jpa.properties.hibernate.format_sql=true");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort() + "/api/v1/employee";
+        for (int i = 0; i < employees; i += BULK_SIZE) {
+            bulk();
+        }
+        ids = context.getBean(EmployeeService.class).getAllEmployee().stream().map(Employee::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int create() throws Exception {
+        return send(post("", employeeJson()));
+    }
+
+    @Benchmark
+    public int bulk() throws Exception {
+        String body = IntStream.range(0, BULK_SIZE)
+                .mapToObj(i -> employeeJson())
+                .collect(Collectors.joining(",", "[", "]"));
+        return send(post("/bulk", body));
+    }
+
+    @Benchmark
+    public int getById() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/id/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())))).build());
+    }
+
+    @Benchmark
+    public int page() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/page?size=20")).build());
+    }
+
+    private String employeeJson() {
+        long n = sequence.incrementAndGet();
+        return "{\"firstName\":\"First" + n + "\",\"lastName\":\"Last" + n + "\",\"email\":\"load" + n + "@gmail.com\"}";
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+}
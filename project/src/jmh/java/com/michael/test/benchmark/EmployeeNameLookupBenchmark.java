@@ -0,0 +1,74 @@
+package com.michael.test.benchmark;
+
+import com.michael.test.entity.Employee;
+import com.michael.test.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+//first/last name finders with the composite name indexes ("index") and with them dropped ("scan")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class EmployeeNameLookupBenchmark {
+
+    //every first name is shared by rows / FIRST_NAMES employees, the last name makes the pair unique
+    private static final int FIRST_NAMES = 1000;
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"index", "scan"})
+    private String access;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        //set-based insert, going through JPA would take minutes for a million rows
+        jdbcTemplate.update("insert into employees (id, first_name, last_name, email, version)" +
+                " select n, concat('First', mod(n, " + FIRST_NAMES + ")), concat('Last', n), concat('employee', n, '@gmail.com'), 0" +
+                " from system_range(1, ?) as r(n)", rows);
+        if ("scan".equals(access)) {
+            jdbcTemplate.execute("drop index idx_employees_first_name_last_name");
+            jdbcTemplate.execute("drop index idx_employees_last_name_first_name");
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> findByJPQL() {
+        long row = randomRow();
+        return employeeRepository.findByJPQL("First" + row % FIRST_NAMES, "Last" + row, PAGE);
+    }
+
+    @Benchmark
+    public List<Employee> findByNativeSQL() {
+        long row = randomRow();
+        return employeeRepository.findByNativeSQL("First" + row % FIRST_NAMES, "Last" + row, PAGE);
+    }
+
+    private long randomRow() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.michael.test.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+//404 throughput end to end: DispatcherServlet, service lookup on an empty table, exception handler, logging and error body
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class EmployeeNotFoundBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        //no coalescing window, every miss goes straight to the database
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET, "server.port=0", "employee.coalescing.window=0ms");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getMissingById() throws Exception {
+        return mockMvc.perform(get("/api/v1/employee/id/{employeeId}", ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE)))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int getMissingByEmail() throws Exception {
+        return mockMvc.perform(get("/api/v1/employee/email/{email}", "missing" + ThreadLocalRandom.current().nextInt() + "@gmail.com"))
+                .andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,93 @@
+package com.michael.test.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.michael.test.entity.Employee;
+import com.michael.test.payload.request.EmployeeRequest;
+import com.michael.test.payload.response.EmployeeResponse;
+import com.michael.test.payload.response.ErrorResponseMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//entity output with plain Jackson against the DTO records with Blackbird, as the application now serves them;
+//add -prof gc to jmh.args for the allocation per operation
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+public class EmployeeSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper blackbirdObjectMapper;
+    private Employee employee;
+    private List<Employee> employeeList;
+    private ErrorResponseMessage errorResponseMessage;
+    private byte[] employeeJson;
+
+    @Setup
+    public void setup() throws Exception {
+        //same defaults Spring Boot applies to the MVC message converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        blackbirdObjectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Michael")
+                .lastName("Royf")
+                .email("michael@gmail.com")
+                .build();
+        employeeList = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            employeeList.add(Employee.builder()
+                    .id(i)
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("employee" + i + "@gmail.com")
+                    .build());
+        }
+        errorResponseMessage = new ErrorResponseMessage(HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND, "Employee with id: 1 not found");
+        employeeJson = objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws Exception {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList() throws Exception {
+        return objectMapper.writeValueAsBytes(employeeList);
+    }
+
+    //the mapping from the entity is part of every DTO response, so it is measured too
+    @Benchmark
+    public byte[] serializeEmployeeResponse() throws Exception {
+        return blackbirdObjectMapper.writeValueAsBytes(EmployeeResponse.from(employee));
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeResponseList() throws Exception {
+        return blackbirdObjectMapper.writeValueAsBytes(employeeList.stream().map(EmployeeResponse::from).toList());
+    }
+
+    @Benchmark
+    public byte[] serializeErrorResponseMessage() throws Exception {
+        return objectMapper.writeValueAsBytes(errorResponseMessage);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws Exception {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public EmployeeRequest deserializeEmployeeRequest() throws Exception {
+        return blackbirdObjectMapper.readValue(employeeJson, EmployeeRequest.class);
+    }
+}
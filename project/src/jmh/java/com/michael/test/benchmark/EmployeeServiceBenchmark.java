@@ -0,0 +1,93 @@
+package com.michael.test.benchmark;
+
+import com.michael.test.entity.Employee;
+import com.michael.test.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000"})
+    private int employees;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private List<Employee> seeded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        employeeService = context.getBean(EmployeeService.class);
+        for (int i = 0; i < employees; i++) {
+            employeeService.saveEmployee(newEmployee("seed"));
+        }
+        seeded = employeeService.getAllEmployee();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee save() {
+        return employeeService.saveEmployee(newEmployee("save"));
+    }
+
+    @Benchmark
+    public Employee getById() {
+        return employeeService.getById(randomEmployee().getId());
+    }
+
+    @Benchmark
+    public Employee getByEmail() {
+        return employeeService.getByEmail(randomEmployee().getEmail());
+    }
+
+    @Benchmark
+    public Employee update() {
+        Employee employee = randomEmployee();
+        return employeeService.updateEmployee(employee.getId(), Employee.builder()
+                .firstName("First" + sequence.incrementAndGet())
+                .lastName(employee.getLastName())
+                .build());
+    }
+
+    //delete needs a row to remove, so each invocation creates one first
+    @Benchmark
+    public Object saveThenDelete() {
+        Employee employee = employeeService.saveEmployee(newEmployee("delete"));
+        return employeeService.deleteEmployee(employee.getId());
+    }
+
+    @Benchmark
+    public List<Employee> getAllEmployee() {
+        return employeeService.getAllEmployee();
+    }
+
+    private Employee randomEmployee() {
+        return seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+    }
+
+    private Employee newEmployee(String prefix) {
+        long number = sequence.incrementAndGet();
+        return Employee.builder()
+                .firstName("First" + number)
+                .lastName("Last" + number)
+                .email(prefix + number + "@gmail.com")
+                .build();
+    }
+}
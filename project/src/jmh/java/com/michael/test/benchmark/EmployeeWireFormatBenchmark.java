@@ -0,0 +1,83 @@
+package com.michael.test.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.michael.test.payload.response.EmployeeResponse;
+import com.michael.test.payload.response.ErrorResponseMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//JSON against CBOR for the employee payloads, configured like the application's message converters;
+//the encoded sizes are printed once per trial
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+public class EmployeeWireFormatBenchmark {
+
+    private static final TypeReference<List<EmployeeResponse>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private EmployeeResponse employee;
+    private List<EmployeeResponse> employeeList;
+    private ErrorResponseMessage errorResponseMessage;
+    private byte[] employeeBytes;
+    private byte[] employeeListBytes;
+
+    @Setup
+    public void setup() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule());
+        if ("cbor".equals(format)) {
+            builder.factory(new CBORFactory());
+        }
+        objectMapper = builder.build();
+        employee = new EmployeeResponse(1L, "Michael", "Royf", "michael@gmail.com");
+        employeeList = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            employeeList.add(new EmployeeResponse(i, "First" + i, "Last" + i, "employee" + i + "@gmail.com"));
+        }
+        errorResponseMessage = new ErrorResponseMessage(HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND, "Employee with id: 1 not found");
+        employeeBytes = objectMapper.writeValueAsBytes(employee);
+        employeeListBytes = objectMapper.writeValueAsBytes(employeeList);
+        System.out.printf("%n%s payload bytes: employee=%d, list of 100=%d, error=%d%n", format,
+                employeeBytes.length, employeeListBytes.length, objectMapper.writeValueAsBytes(errorResponseMessage).length);
+    }
+
+    @Benchmark
+    public byte[] writeEmployee() throws Exception {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] writeEmployeeList() throws Exception {
+        return objectMapper.writeValueAsBytes(employeeList);
+    }
+
+    @Benchmark
+    public byte[] writeErrorResponseMessage() throws Exception {
+        return objectMapper.writeValueAsBytes(errorResponseMessage);
+    }
+
+    @Benchmark
+    public EmployeeResponse readEmployee() throws Exception {
+        return objectMapper.readValue(employeeBytes, EmployeeResponse.class);
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> readEmployeeList() throws Exception {
+        return objectMapper.readValue(employeeListBytes, EMPLOYEE_LIST);
+    }
+}
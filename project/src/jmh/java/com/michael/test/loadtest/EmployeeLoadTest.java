@@ -0,0 +1,154 @@
+package com.michael.test.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.michael.test.benchmark.BenchmarkApplication;
+import com.michael.test.entity.Employee;
+import com.michael.test.service.EmployeeService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load test: keeps {@code clients} requests in flight against a freshly started
+ * application for every Spring profile given, and compares throughput and latency between them.
+ * The employee cache and Hibernate's second- and query-level caches are disabled and lookups are not batched, so
+ * every request reaches the database; only concurrent lookups of the same id still share one query.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@load-test -Dload.args="--clients=2000 --profiles=default,virtual-threads"
+ * </pre>
+ * Results are printed and written to target/load-test-result.json.
+ */
+public class EmployeeLoadTest {
+
+    private static final int SEEDED_EMPLOYEES = 100;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "2000"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+        String path = options.getOrDefault("path", "/api/v1/employee/id/{id}");
+        List<String> profiles = List.of(options.getOrDefault("profiles", "default,virtual-threads").split(","));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String profile : profiles) {
+            results.add(run(profile, clients, warmup, duration, path));
+        }
+
+        System.out.printf("%n%-20s %8s %12s %10s %10s %10s %8s%n", "profile", "clients", "requests/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Map<String, Object> result : results) {
+            System.out.printf("%-20s %8d %12.1f %10.2f %10.2f %10.2f %8d%n", result.get("profile"), result.get("clients"),
+                    result.get("throughput"), result.get("p50Millis"), result.get("p99Millis"), result.get("maxMillis"), result.get("errors"));
+        }
+        File output = new File(options.getOrDefault("output", "target/load-test-result.json"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, results);
+        System.out.println("Load test result is saved to " + output.getAbsolutePath());
+    }
+
+    private static Map<String, Object> run(String profile, int clients, Duration warmup, Duration duration, String path) throws Exception {
+        List<String> properties = new ArrayList<>(List.of("server.port=0", "spring.cache.type=none",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "employee.coalescing.window=0ms"));
+        if (!"default".equals(profile)) {
+            properties.add("spring.profiles.active=" + profile);
+        }
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(WebApplicationType.SERVLET, properties.toArray(String[]::new))) {
+            EmployeeService employeeService = context.getBean(EmployeeService.class);
+            List<Employee> employees = new ArrayList<>();
+            for (int i = 0; i < SEEDED_EMPLOYEES; i++) {
+                employees.add(employeeService.saveEmployee(Employee.builder()
+                        .firstName("First" + i)
+                        .lastName("Last" + i)
+                        .email("load" + i + "@gmail.com")
+                        .build()));
+            }
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            drive(client, baseUrl, path, employees, clients, warmup, null, null);
+            ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+            LongAdder errors = new LongAdder();
+            long started = System.nanoTime();
+            drive(client, baseUrl, path, employees, clients, duration, latencies, errors);
+            double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("profile", profile);
+            result.put("javaVersion", Runtime.version().feature());
+            result.put("virtualThreads", context.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                    && Runtime.version().feature() >= 21);
+            result.put("clients", clients);
+            result.put("requests", sorted.length);
+            result.put("throughput", sorted.length / elapsedSeconds);
+            result.put("p50Millis", percentile(sorted, 0.50));
+            result.put("p99Millis", percentile(sorted, 0.99));
+            result.put("maxMillis", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+            result.put("errors", errors.sum());
+            return result;
+        }
+    }
+
+    //keeps exactly `clients` requests in flight until the duration is over, then waits for the stragglers
+    private static void drive(HttpClient client, String baseUrl, String path, List<Employee> employees, int clients, Duration duration,
+                              Queue<Long> latencies, LongAdder errors) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(clients);
+        long deadline = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            inFlight.acquire();
+            Employee employee = employees.get(ThreadLocalRandom.current().nextInt(employees.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path
+                            .replace("{id}", String.valueOf(employee.getId()))
+                            .replace("{email}", employee.getEmail())))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (latencies != null) {
+                    if (error != null || response.statusCode() != 200) {
+                        errors.increment();
+                    } else {
+                        latencies.add(System.nanoTime() - start);
+                    }
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(clients);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,22 @@
+package com.michael.test.cache;
+
+import com.michael.test.entity.Employee;
+
+import java.util.Optional;
+
+//read-through cache for single employee lookups, writers must put or evict so reads never go stale
+public interface EmployeeCache {
+
+    Optional<Employee> getById(Long employeeId);
+
+    Optional<Employee> getByEmail(String email);
+
+    //for writers, after their change is committed
+    void put(Employee employee);
+
+    //for rows a reader just loaded: a concurrent writer may have committed and cached or evicted since the read,
+    //so the loaded row is only stored when the cache holds nothing for the employee
+    void putLoaded(Employee employee);
+
+    void evict(Long employeeId);
+}
@@ -0,0 +1,71 @@
+package com.michael.test.cache;
+
+import com.michael.test.entity.Employee;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+
+//backed by Spring's cache abstraction, so Caffeine or Redis is chosen with spring.cache.type.
+//Employees are stored once by id and the email cache only maps email to id,
+//so evicting the id is enough to make both lookups miss.
+//Inside a transaction puts and evictions are held until it commits and dropped on rollback, so the cache
+//never sees an uncommitted write and a concurrent miss cannot reload the row before the new one is visible.
+//An eviction leaves a tombstone rather than an empty slot: a reader that loaded the row before the write committed
+//only fills empty slots, so it can neither overwrite the writer's newer entry nor bring back an evicted one.
+@Component
+public class SpringEmployeeCache implements EmployeeCache {
+    public static final String EMPLOYEES = "employees";
+    public static final String EMPLOYEE_IDS_BY_EMAIL = "employeeIdsByEmail";
+
+    private final Cache employees;
+    private final Cache employeeIdsByEmail;
+
+    public SpringEmployeeCache(CacheManager cacheManager) {
+        this.employees = new TransactionAwareCacheDecorator(Objects.requireNonNull(cacheManager.getCache(EMPLOYEES)));
+        this.employeeIdsByEmail = new TransactionAwareCacheDecorator(Objects.requireNonNull(cacheManager.getCache(EMPLOYEE_IDS_BY_EMAIL)));
+    }
+
+    @Override
+    public Optional<Employee> getById(Long employeeId) {
+        Cache.ValueWrapper cached = employees.get(employeeId);
+        return cached != null && cached.get() instanceof Employee employee ? Optional.of(employee) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Employee> getByEmail(String email) {
+        Long employeeId = employeeIdsByEmail.get(email, Long.class);
+        if (employeeId == null) {
+            return Optional.empty();
+        }
+        return getById(employeeId)
+                .filter(employee -> email.equals(employee.getEmail()));
+    }
+
+    @Override
+    public void put(Employee employee) {
+        employees.put(employee.getId(), employee);
+        employeeIdsByEmail.put(employee.getEmail(), employee.getId());
+    }
+
+    //putIfAbsent is never deferred to a commit, the slot is checked and filled in one step
+    @Override
+    public void putLoaded(Employee employee) {
+        if (employees.putIfAbsent(employee.getId(), employee) == null) {
+            employeeIdsByEmail.putIfAbsent(employee.getEmail(), employee.getId());
+        }
+    }
+
+    //the tombstone expires with the cache entries, until then lookups of the employee go to the database
+    @Override
+    public void evict(Long employeeId) {
+        employees.put(employeeId, Tombstone.EVICTED);
+    }
+
+    private enum Tombstone {
+        EVICTED
+    }
+}
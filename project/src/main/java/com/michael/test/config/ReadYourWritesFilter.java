@@ -0,0 +1,67 @@
+package com.michael.test.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+//read-your-writes per client instead of per node: a write committed while serving a request stamps the response with
+//its commit time, and requests that send the stamp back are kept on the primary for the window (see
+//ReplicaRoutingDataSource). The stamp is wall-clock time so it holds across nodes whose clocks agree to well within
+//the window. Threads outside a request, like the change relay and the feed refresh, neither stamp nor get pinned
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String WRITTEN_AT_HEADER = "X-Written-At";
+
+    private static final ThreadLocal<ClientWrites> CURRENT = new ThreadLocal<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CURRENT.set(new ClientWrites(parse(request.getHeader(WRITTEN_AT_HEADER)), response));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    //epoch millis of the last write the client of the current request has seen committed, 0 when none is known
+    static long clientWrittenAt() {
+        ClientWrites writes = CURRENT.get();
+        return writes == null ? 0 : writes.writtenAt;
+    }
+
+    static void writeCommitted(long writtenAt) {
+        ClientWrites writes = CURRENT.get();
+        if (writes == null) {
+            return;
+        }
+        writes.writtenAt = writtenAt;
+        //a streamed response may already be on the wire, its later reads in this request still follow the write
+        if (!writes.response.isCommitted()) {
+            writes.response.setHeader(WRITTEN_AT_HEADER, Long.toString(writtenAt));
+        }
+    }
+
+    private static long parse(String writtenAt) {
+        if (writtenAt == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(writtenAt.trim());
+        } catch (NumberFormatException exception) {
+            return 0;
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class ClientWrites {
+        private long writtenAt;
+        private final HttpServletResponse response;
+    }
+}
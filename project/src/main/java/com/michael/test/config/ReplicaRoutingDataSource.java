@@ -0,0 +1,46 @@
+package com.michael.test.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+//read-only transactions go to the replica, everything else to the primary. A request whose client committed a write
+//within the read-your-writes window reads from the primary so a lagging replica cannot answer with older rows; the
+//client is told apart by the stamp ReadYourWritesFilter hands out, other clients' and the relay's writes do not count
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final long readYourWritesMillis;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        readYourWritesMillis = readYourWritesWindow.toMillis();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ReadYourWritesFilter.writeCommitted(System.currentTimeMillis());
+                }
+            });
+            return Target.PRIMARY;
+        }
+        //a stamp from the future counts only as far as the window reaches, a client cannot pin itself for longer
+        return Math.abs(System.currentTimeMillis() - ReadYourWritesFilter.clientWrittenAt()) <= readYourWritesMillis
+                ? Target.PRIMARY : Target.REPLICA;
+    }
+}
@@ -0,0 +1,12 @@
+package com.michael.test.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+//runs EmployeeChangeRelay
+@Configuration
+@Profile("!reactive")
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,24 @@
+package com.michael.test.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+//Spring Boot silently ignores spring.threads.virtual.enabled below Java 21, make that visible
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < 21) {
+            log.warn("Virtual threads requested but running on Java {}, requests are served by platform threads", javaVersion);
+        } else {
+            log.info("Requests are served by virtual threads");
+        }
+    }
+}
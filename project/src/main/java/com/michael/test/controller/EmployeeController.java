@@ -1,52 +1,186 @@
 package com.michael.test.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.michael.test.entity.Employee;
+import com.michael.test.exceptions.EmployeeVersionMismatchException;
+import com.michael.test.payload.request.BatchGetRequest;
+import com.michael.test.payload.request.BulkDeleteRequest;
+import com.michael.test.payload.request.EmployeePatchRequest;
+import com.michael.test.payload.request.EmployeeRequest;
+import com.michael.test.payload.response.BatchGetResponse;
+import com.michael.test.payload.response.BulkDeleteResponse;
+import com.michael.test.payload.response.BulkEmployeeResponse;
+import com.michael.test.payload.response.EmployeeChangesResponse;
+import com.michael.test.payload.response.EmployeePageResponse;
+import com.michael.test.payload.response.EmployeeResponse;
 import com.michael.test.payload.response.MessageResponse;
 import com.michael.test.service.EmployeeService;
+import com.michael.test.service.impl.EmployeeChangeFeed;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.HttpStatus.OK;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 @Slf4j
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final EmployeeChangeFeed employeeChangeFeed;
+
+    //clients may keep responses but must revalidate them with If-None-Match, which answers 304 without a body
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+    private static final int EXPORT_FLUSH_ROWS = 500;
 
     @PostMapping
-    public ResponseEntity<Employee> createEmployee(@RequestBody Employee employee) {
-        return new ResponseEntity<>(employeeService.saveEmployee(employee), CREATED);
+    public ResponseEntity<EmployeeResponse> createEmployee(@RequestBody EmployeeRequest employee) {
+        return new ResponseEntity<>(EmployeeResponse.from(employeeService.saveEmployee(employee.toEmployee())), CREATED);
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BulkEmployeeResponse> createEmployees(@RequestBody List<EmployeeRequest> employees) {
+        return new ResponseEntity<>(employeeService.saveEmployees(toEmployees(employees)), OK);
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkEmployeeResponse> createEmployeesFromNdjson(HttpServletRequest request) {
+        List<EmployeeRequest> employees;
+        try (MappingIterator<EmployeeRequest> iterator = objectMapper.readerFor(EmployeeRequest.class).readValues(request.getInputStream())) {
+            employees = iterator.readAll();
+        } catch (RuntimeException | IOException exception) {
+            throw new HttpMessageNotReadableException("Invalid NDJSON: " + exception.getMessage(), exception, new ServletServerHttpRequest(request));
+        }
+        return new ResponseEntity<>(employeeService.saveEmployees(toEmployees(employees)), OK);
     }
 
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployee() {
-        return new ResponseEntity<>(employeeService.getAllEmployee(), OK);
+    public ResponseEntity<List<EmployeeResponse>> getAllEmployee(WebRequest request) {
+        //the table fingerprint is one aggregate query, the list is only loaded and serialized when it changed.
+        //Weak because the gzipped and plain bodies differ byte for byte, Tomcat does not compress under a strong tag
+        String eTag = "W/\"" + employeeService.getEmployeesFingerprint() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(REVALIDATE)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(REVALIDATE)
+                .body(employeeService.getAllEmployee().stream().map(EmployeeResponse::from).toList());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<EmployeePageResponse> getEmployeePage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                @RequestParam(value = "size", defaultValue = "50") int size) {
+        return new ResponseEntity<>(employeeService.getEmployeePage(cursor, size), OK);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<EmployeePageResponse> searchEmployees(@RequestParam("q") String query,
+                                                                @RequestParam(value = "cursor", required = false) String cursor,
+                                                                @RequestParam(value = "size", defaultValue = "50") int size) {
+        return new ResponseEntity<>(employeeService.searchEmployees(query, cursor, size), OK);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        ObjectWriter writer = objectMapper.writerFor(EmployeeResponse.class);
+        StreamingResponseBody body = outputStream -> {
+            AtomicInteger written = new AtomicInteger();
+            employeeService.exportEmployees(employee -> {
+                try {
+                    outputStream.write(writer.writeValueAsBytes(EmployeeResponse.from(employee)));
+                    outputStream.write('\n');
+                    //pushes a gzip sync point and the bytes so far to the client instead of waiting for full buffers
+                    if (written.incrementAndGet() % EXPORT_FLUSH_ROWS == 0) {
+                        outputStream.flush();
+                    }
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    //getById answers from the employee cache, so a matching If-None-Match costs neither a query nor serialization:
+    //Spring compares the ETag of the returned entity and sends 304 without writing the body.
+    //JSON and CBOR share the tag, so shared caches must key the response on Accept as well
     @GetMapping("/id/{employeeId}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("employeeId") Long employeeId) {
-        return new ResponseEntity<>(employeeService.getById(employeeId), OK);
+    public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable("employeeId") Long employeeId) {
+        Employee employee = employeeService.getById(employeeId);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(employee.getVersion()))
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(EmployeeResponse.from(employee));
     }
 
 
+    //an email can be deleted and reused by a new employee starting again at version 0, so its tag names the id too
     @GetMapping("/email/{email}")
-    public ResponseEntity<Employee> getEmployeeByEmail(@PathVariable("email") String email) {
-        return new ResponseEntity<>(employeeService.getByEmail(email), OK);
+    public ResponseEntity<EmployeeResponse> getEmployeeByEmail(@PathVariable("email") String email) {
+        Employee employee = employeeService.getByEmail(email);
+        return ResponseEntity.ok()
+                .eTag(employee.getId() + "-" + employee.getVersion())
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(EmployeeResponse.from(employee));
+    }
+
+
+    //one round trip and a few IN queries instead of a GET per employee
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse> batchGet(@Valid @RequestBody BatchGetRequest request) {
+        return new ResponseEntity<>(employeeService.batchGet(request), OK);
     }
 
 
     @PutMapping("/id/{employeeId}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("employeeId") Long employeeId,
-                                                   @RequestBody Employee newEmployee) {
-        return new ResponseEntity<>(employeeService.updateEmployee(employeeId, newEmployee), OK);
+    public ResponseEntity<EmployeeResponse> updateEmployee(@PathVariable("employeeId") Long employeeId,
+                                                           @RequestBody EmployeeRequest newEmployee) {
+        return new ResponseEntity<>(EmployeeResponse.from(employeeService.updateEmployee(employeeId, newEmployee.toEmployee())), OK);
+    }
+
+    //updates only the supplied names; with If-Match the write fails with 412 when the employee changed in between
+    @PatchMapping("/id/{employeeId}")
+    public ResponseEntity<EmployeeResponse> patchEmployee(@PathVariable("employeeId") Long employeeId,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                          @Valid @RequestBody EmployeePatchRequest patch) {
+        Employee employee = employeeService.patchEmployee(employeeId, patch, parseVersion(employeeId, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(employee.getVersion()))
+                .body(EmployeeResponse.from(employee));
     }
 
     @DeleteMapping("/id/{employeeId}")
@@ -54,4 +188,51 @@ public class EmployeeController {
         return new ResponseEntity<>(employeeService.deleteEmployee(employeeId), OK);
     }
 
+    //POST because DELETE request bodies are dropped by many proxies and clients
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkDeleteResponse> deleteEmployees(@Valid @RequestBody BulkDeleteRequest request) {
+        return new ResponseEntity<>(employeeService.deleteEmployees(request.getIds()), OK);
+    }
+
+    //long poll: answers as soon as changes after since are published, or with an empty page and the same next
+    //after wait seconds. The request thread is released while waiting
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<EmployeeChangesResponse>> getChanges(@RequestParam(value = "since", defaultValue = "0") long since,
+                                                                                @RequestParam(value = "size", defaultValue = "100") int size,
+                                                                                @RequestParam(value = "wait", defaultValue = "25") int waitSeconds) {
+        return employeeChangeFeed.poll(since, size, waitSeconds)
+                .thenApply(changes -> new ResponseEntity<>(changes, OK));
+    }
+
+    //server-sent events, a reconnecting EventSource sends the last position it received as Last-Event-ID
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(value = "since", required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(value = "size", defaultValue = "100") int size) {
+        return employeeChangeFeed.stream(lastEventId != null ? lastEventId : since != null ? since : 0, size);
+    }
+
+    //a null entry stays null so the bulk result can report it by index
+    private static List<Employee> toEmployees(List<EmployeeRequest> requests) {
+        return requests.stream()
+                .map(request -> request == null ? null : request.toEmployee())
+                .toList();
+    }
+
+    //the ETag of an employee is its version; no header or "*" means any version
+    private static Long parseVersion(Long employeeId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException exception) {
+            throw new EmployeeVersionMismatchException(String.format("Employee with id: %s does not match If-Match: %s", employeeId, ifMatch));
+        }
+    }
+
 }
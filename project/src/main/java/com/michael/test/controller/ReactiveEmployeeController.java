@@ -0,0 +1,108 @@
+package com.michael.test.controller;
+
+import com.michael.test.payload.request.EmployeeRequest;
+import com.michael.test.payload.response.BulkEmployeeResponse;
+import com.michael.test.payload.response.EmployeePageResponse;
+import com.michael.test.payload.response.EmployeeResponse;
+import com.michael.test.payload.response.MessageResponse;
+import com.michael.test.service.ReactiveEmployeeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.OK;
+
+// WebFlux + R2DBC variant for the reactive profile. It serves create, bulk create, list, page, export, get by id and
+// email with their ETags, PUT and DELETE. PATCH /id/{id}, /search, /batch-get, /bulk-delete and /changes exist only on
+// the servlet stack and answer 404 here. The list has no ETag: the servlet fingerprint ends with the change feed
+// head, and this stack does not write the change feed
+@RestController
+@RequestMapping("/api/v1/employee")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveEmployeeController {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private final ReactiveEmployeeService employeeService;
+
+    @PostMapping
+    public Mono<ResponseEntity<EmployeeResponse>> createEmployee(@RequestBody EmployeeRequest employee) {
+        return employeeService.saveEmployee(employee.toEmployee())
+                .map(saved -> new ResponseEntity<>(EmployeeResponse.from(saved), CREATED));
+    }
+
+    // a JSON or CBOR array, or one object per line for application/x-ndjson, decoded as it arrives
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<BulkEmployeeResponse>> createEmployees(@RequestBody Flux<EmployeeRequest> employees) {
+        return employees.map(EmployeeRequest::toEmployee)
+                .collectList()
+                .flatMap(employeeService::saveEmployees)
+                .map(response -> new ResponseEntity<>(response, OK));
+    }
+
+    // rows are written as they are read, as a JSON array or one object per line for application/x-ndjson
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EmployeeResponse> getAllEmployee() {
+        return employeeService.getAllEmployee().map(EmployeeResponse::from);
+    }
+
+    @GetMapping("/page")
+    public Mono<ResponseEntity<EmployeePageResponse>> getEmployeePage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                      @RequestParam(value = "size", defaultValue = "50") int size) {
+        return employeeService.getEmployeePage(cursor, size)
+                .map(page -> new ResponseEntity<>(page, OK));
+    }
+
+    // NDJSON only, written with backpressure as the rows stream in
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EmployeeResponse> exportEmployees() {
+        return employeeService.getAllEmployee().map(EmployeeResponse::from);
+    }
+
+    // same tags as EmployeeController; WebFlux answers a matching If-None-Match with 304 and no body
+    @GetMapping("/id/{employeeId}")
+    public Mono<ResponseEntity<EmployeeResponse>> getEmployeeById(@PathVariable("employeeId") Long employeeId) {
+        return employeeService.getById(employeeId)
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(String.valueOf(employee.getVersion()))
+                        .cacheControl(REVALIDATE)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(EmployeeResponse.from(employee)));
+    }
+
+
+    @GetMapping("/email/{email}")
+    public Mono<ResponseEntity<EmployeeResponse>> getEmployeeByEmail(@PathVariable("email") String email) {
+        return employeeService.getByEmail(email)
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(employee.getId() + "-" + employee.getVersion())
+                        .cacheControl(REVALIDATE)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(EmployeeResponse.from(employee)));
+    }
+
+
+    @PutMapping("/id/{employeeId}")
+    public Mono<ResponseEntity<EmployeeResponse>> updateEmployee(@PathVariable("employeeId") Long employeeId,
+                                                                 @RequestBody EmployeeRequest newEmployee) {
+        return employeeService.updateEmployee(employeeId, newEmployee.toEmployee())
+                .map(employee -> new ResponseEntity<>(EmployeeResponse.from(employee), OK));
+    }
+
+    @DeleteMapping("/id/{employeeId}")
+    public Mono<ResponseEntity<MessageResponse>> deleteEmployee(@PathVariable("employeeId") Long employeeId) {
+        return employeeService.deleteEmployee(employeeId)
+                .map(response -> new ResponseEntity<>(response, OK));
+    }
+
+}
@@ -1,7 +1,18 @@
 package com.michael.test.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.apache.commons.codec.language.Soundex;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import java.io.Serializable;
+import java.text.Normalizer;
+import java.util.regex.Pattern;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -9,15 +20,65 @@ import lombok.*;
 @Setter
 @Builder
 @Entity
-@Table(name = "employees")
-public class Employee {
+//second-level cached by id and by email, see hibernate-jcache.conf for the region sizes
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee-entities")
+@NaturalIdCache(region = "employee-natural-ids")
+//PATCH loads the entity and flushes it, the UPDATE then sets only the columns that changed plus the version
+@DynamicUpdate
+//composite name indexes serve the first/last name finders in both column orders, and their leftmost column the prefix search
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_first_name_last_name", columnList = "first_name, last_name"),
+        @Index(name = "idx_employees_last_name_first_name", columnList = "last_name, first_name"),
+        @Index(name = "idx_employees_first_name_key", columnList = "first_name_key"),
+        @Index(name = "idx_employees_last_name_key", columnList = "last_name_key")
+})
+public class Employee implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final Soundex SOUNDEX = Soundex.US_ENGLISH;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_LATIN = Pattern.compile("[^A-Za-z]+");
+    //pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
     @Column(name = "first_name", nullable = false)
     private String firstName;
     @Column(name = "last_name", nullable = false)
     private String lastName;
+    @NaturalId
     @Column(name = "email", unique = true, nullable = false)
     private String email;
+    //phonetic keys for typo tolerant search, derived from the names on every write
+    @JsonIgnore
+    @Column(name = "first_name_key", length = 4)
+    private String firstNameKey;
+    @JsonIgnore
+    @Column(name = "last_name_key", length = 4)
+    private String lastNameKey;
+    //optimistic lock, bumped on every write and sent to clients as the ETag
+    @JsonIgnore
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKeys() {
+        firstNameKey = nameKey(firstName);
+        lastNameKey = nameKey(lastName);
+    }
+
+    //Soundex only maps A-Z and throws on any other letter: accents are folded first ("Müller" -> "Muller") and the
+    //remaining non-Latin letters dropped, so a Cyrillic or CJK name gets no key and is found by prefix only
+    public static String nameKey(String name) {
+        if (name == null) {
+            return null;
+        }
+        String latin = NON_LATIN.matcher(COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll(""))
+                .replaceAll("");
+        String key = SOUNDEX.encode(latin);
+        return key == null || key.isEmpty() ? null : key;
+    }
 }
@@ -0,0 +1,59 @@
+package com.michael.test.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+//outbox row, written in the transaction of the employee write it describes. The relay later hands it the next
+//position of the change feed; rows still waiting for one are found through the same index
+@Table(name = "employee_changes", indexes = {
+        @Index(name = "idx_employee_changes_feed_position", columnList = "feed_position")
+})
+public class EmployeeChange {
+    //IDENTITY on purpose: writes to one employee are serialized by its row lock, so a later change of the same
+    //employee always gets a higher id, whichever node wrote it. A pooled sequence hands out blocks per node
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 16)
+    private Type type;
+    //state after the change, for DELETED the last state before it
+    @Column(name = "first_name")
+    private String firstName;
+    @Column(name = "last_name")
+    private String lastName;
+    @Column(name = "email")
+    private String email;
+    @Column(name = "version")
+    private Long version;
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+    @Column(name = "feed_position", unique = true)
+    private Long position;
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static EmployeeChange of(Type type, Employee employee) {
+        return EmployeeChange.builder()
+                .employeeId(employee.getId())
+                .type(type)
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .version(employee.getVersion())
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.michael.test.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+//single row holding the last position handed out by the change relay; relays lock it, so positions have no gaps
+@Table(name = "employee_change_feed")
+public class EmployeeChangeFeedState {
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+    @Column(name = "last_position", nullable = false)
+    private long lastPosition;
+}
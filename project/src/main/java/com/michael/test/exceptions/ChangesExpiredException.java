@@ -0,0 +1,8 @@
+package com.michael.test.exceptions;
+
+public class ChangesExpiredException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    public ChangesExpiredException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,8 +1,38 @@
 package com.michael.test.exceptions;
 
+//expected on every lookup of a missing employee: no stack trace is captured and the message is only built when read
 public class EmployeeNotFoundException extends RuntimeException {
     private static final long serialVersionUID = 1L;
+    private final String key;
+    private final transient Object value;
+    private String message;
+
     public EmployeeNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.key = null;
+        this.value = null;
+        this.message = message;
+    }
+
+    private EmployeeNotFoundException(String key, Object value) {
+        super(null, null, false, false);
+        this.key = key;
+        this.value = value;
+    }
+
+    public static EmployeeNotFoundException byId(Long employeeId) {
+        return new EmployeeNotFoundException("id", employeeId);
+    }
+
+    public static EmployeeNotFoundException byEmail(String email) {
+        return new EmployeeNotFoundException("email", email);
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = "Employee with " + key + ": " + value + " not found";
+        }
+        return message;
     }
 }
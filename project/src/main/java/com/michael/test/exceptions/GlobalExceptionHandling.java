@@ -2,12 +2,17 @@ package com.michael.test.exceptions;
 
 
 import com.michael.test.payload.response.ErrorResponseMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -16,7 +21,7 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.io.IOException;
-import java.util.Date;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +30,8 @@ import java.util.stream.Collectors;
 import static org.springframework.http.HttpStatus.*;
 
 @RestControllerAdvice
+@Profile("!reactive")
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandling extends ResponseEntityExceptionHandler {
     private static final String ACCOUNT_LOCKED = "Your account has been locked. Please contact administration";
@@ -35,40 +42,79 @@ public class GlobalExceptionHandling extends ResponseEntityExceptionHandler {
     private static final String ERROR_PROCESSING_FILE = "Error occurred while processing file";
     private static final String NOT_ENOUGH_PERMISSION = "You do not have enough permission";
     public static final String ERROR_PATH = "/error";
+    public static final String ERRORS_METRIC = "employee.api.errors";
 
+    // optional so the MVC test slices, which have no registry, still load the advice
+    private final ObjectProvider<MeterRegistry> meterRegistry;
 
+
+    //anything without its own handler below is unexpected and logged at ERROR, it is still answered 400 as the API
+    //always has. The mapped client errors (4xx) are expected traffic and only logged at DEBUG
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseMessage> GlobalException(Exception exception) {
         log.error(exception.getMessage());
-        return createHttpResponse(BAD_REQUEST, exception.getMessage());
+        return createHttpResponse(exception, BAD_REQUEST, exception.getMessage());
     }
 
     @ExceptionHandler(IOException.class)
     public ResponseEntity<ErrorResponseMessage> iOException(IOException exception) {
         log.error(exception.getMessage());
-        return createHttpResponse(INTERNAL_SERVER_ERROR, ERROR_PROCESSING_FILE);
+        return createHttpResponse(exception, INTERNAL_SERVER_ERROR, ERROR_PROCESSING_FILE);
     }
 
 
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ErrorResponseMessage> TypeMismatchException(MethodArgumentTypeMismatchException exception, WebRequest request) {
-        log.error(exception.getMessage());
-        return createHttpResponse(BAD_REQUEST, exception.getMessage());
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, BAD_REQUEST, exception.getMessage());
     }
 
 
     @ExceptionHandler(EmployeeNotFoundException.class)
     public ResponseEntity<ErrorResponseMessage> EmployeeNotFoundException(EmployeeNotFoundException exception) {
-        log.error(exception.getMessage());
-        return createHttpResponse(NOT_FOUND, exception.getMessage());
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, NOT_FOUND, exception.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseMessage> InvalidCursorException(InvalidCursorException exception) {
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, BAD_REQUEST, exception.getMessage());
     }
 
 
-//    @ExceptionHandler(EmailExistException.class)
-//    public ResponseEntity<ErrorResponseMessage> emailExistException(EmailExistException exception) {
-//        log.error(exception.getMessage());
-//        return createHttpResponse(CONFLICT, exception.getMessage());
-//    }
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    public ResponseEntity<ErrorResponseMessage> InvalidSearchQueryException(InvalidSearchQueryException exception) {
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, BAD_REQUEST, exception.getMessage());
+    }
+
+
+    @ExceptionHandler(EmailExistException.class)
+    public ResponseEntity<ErrorResponseMessage> emailExistException(EmailExistException exception) {
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, CONFLICT, exception.getMessage());
+    }
+
+    @ExceptionHandler(EmployeeVersionMismatchException.class)
+    public ResponseEntity<ErrorResponseMessage> employeeVersionMismatchException(EmployeeVersionMismatchException exception) {
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, PRECONDITION_FAILED, exception.getMessage());
+    }
+
+    //the consumer fell behind the change retention and has to reload the employees before following the feed again
+    @ExceptionHandler(ChangesExpiredException.class)
+    public ResponseEntity<ErrorResponseMessage> changesExpiredException(ChangesExpiredException exception) {
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, GONE, exception.getMessage());
+    }
+
+    //a concurrent writer committed first, the client should reload and retry
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseMessage> optimisticLockingFailureException(ObjectOptimisticLockingFailureException exception) {
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, CONFLICT, "Employee was changed by another request, please retry");
+    }
 
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
@@ -76,7 +122,7 @@ public class GlobalExceptionHandling extends ResponseEntityExceptionHandler {
                                                                   HttpStatusCode status,
                                                                   WebRequest request) {
         Map<String, Object> body = new HashMap<String, Object>();
-        body.put("timestamp", new Date());
+        body.put("timestamp", Instant.now());
         body.put("statusCode", BAD_REQUEST.value());
         List<String> errors = ex.getBindingResult()
                 .getAllErrors()
@@ -84,11 +130,24 @@ public class GlobalExceptionHandling extends ResponseEntityExceptionHandler {
                 .map(DefaultMessageSourceResolvable::getDefaultMessage)
                 .collect(Collectors.toList());
         body.put("messages", errors);
+        countError(ex, BAD_REQUEST);
         return new ResponseEntity<Object>(body, BAD_REQUEST);
     }
 
 
-    private ResponseEntity<ErrorResponseMessage> createHttpResponse(HttpStatus httpStatus, String message) {
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex,
+                                                             Object body,
+                                                             HttpHeaders headers,
+                                                             HttpStatusCode statusCode,
+                                                             WebRequest request) {
+        countError(ex, statusCode);
+        return super.handleExceptionInternal(ex, body, headers, statusCode, request);
+    }
+
+
+    private ResponseEntity<ErrorResponseMessage> createHttpResponse(Exception exception, HttpStatus httpStatus, String message) {
+        countError(exception, httpStatus);
         return new ResponseEntity<>(
                 new ErrorResponseMessage(
                         httpStatus.value(),
@@ -97,5 +156,12 @@ public class GlobalExceptionHandling extends ResponseEntityExceptionHandler {
                 httpStatus);
     }
 
+    private void countError(Exception exception, HttpStatusCode httpStatus) {
+        meterRegistry.ifAvailable(registry -> registry.counter(ERRORS_METRIC,
+                        "exception", exception.getClass().getSimpleName(),
+                        "status", String.valueOf(httpStatus.value()))
+                .increment());
+    }
+
 
 }
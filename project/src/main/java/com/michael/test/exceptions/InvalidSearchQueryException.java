@@ -0,0 +1,8 @@
+package com.michael.test.exceptions;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    public InvalidSearchQueryException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,69 @@
+package com.michael.test.exceptions;
+
+import com.michael.test.payload.response.ErrorResponseMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
+
+import static org.springframework.http.HttpStatus.*;
+
+// WebFlux counterpart of GlobalExceptionHandling, same status mapping and body
+@RestControllerAdvice
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveExceptionHandling {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    //unmapped failures are logged at ERROR and answered 400 like on the servlet stack, mapped client errors at DEBUG
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseMessage> GlobalException(Exception exception) {
+        log.error(exception.getMessage());
+        return createHttpResponse(exception, BAD_REQUEST, exception.getMessage());
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponseMessage> serverWebInputException(ServerWebInputException exception) {
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, BAD_REQUEST, exception.getReason());
+    }
+
+    @ExceptionHandler(EmployeeNotFoundException.class)
+    public ResponseEntity<ErrorResponseMessage> EmployeeNotFoundException(EmployeeNotFoundException exception) {
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, NOT_FOUND, exception.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseMessage> InvalidCursorException(InvalidCursorException exception) {
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, BAD_REQUEST, exception.getMessage());
+    }
+
+    @ExceptionHandler(EmailExistException.class)
+    public ResponseEntity<ErrorResponseMessage> emailExistException(EmailExistException exception) {
+        log.debug(exception.getMessage());
+        return createHttpResponse(exception, CONFLICT, exception.getMessage());
+    }
+
+    private ResponseEntity<ErrorResponseMessage> createHttpResponse(Exception exception, HttpStatus httpStatus, String message) {
+        meterRegistry.ifAvailable(registry -> registry.counter(GlobalExceptionHandling.ERRORS_METRIC,
+                        "exception", exception.getClass().getSimpleName(),
+                        "status", String.valueOf(httpStatus.value()))
+                .increment());
+        return new ResponseEntity<>(
+                new ErrorResponseMessage(
+                        httpStatus.value(),
+                        httpStatus,
+                        message),
+                httpStatus);
+    }
+}
@@ -0,0 +1,20 @@
+package com.michael.test.payload.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BatchGetRequest {
+    public static final int MAX_KEYS = 5000;
+
+    @Size(max = MAX_KEYS, message = "ids must not contain more than " + MAX_KEYS + " entries")
+    private List<Long> ids;
+    @Size(max = MAX_KEYS, message = "emails must not contain more than " + MAX_KEYS + " entries")
+    private List<String> emails;
+}
@@ -0,0 +1,20 @@
+package com.michael.test.payload.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BulkDeleteRequest {
+    public static final int MAX_IDS = 5000;
+
+    @NotEmpty(message = "ids must not be empty")
+    @Size(max = MAX_IDS, message = "ids must not contain more than " + MAX_IDS + " entries")
+    private List<Long> ids;
+}
@@ -0,0 +1,22 @@
+package com.michael.test.payload.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.*;
+
+//fields left null are not touched by the PATCH
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class EmployeePatchRequest {
+    private String firstName;
+    private String lastName;
+
+    @JsonIgnore
+    @AssertTrue(message = "firstName or lastName is required")
+    public boolean isAnyFieldSet() {
+        return firstName != null || lastName != null;
+    }
+}
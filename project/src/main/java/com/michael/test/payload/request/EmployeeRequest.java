@@ -0,0 +1,15 @@
+package com.michael.test.payload.request;
+
+import com.michael.test.entity.Employee;
+
+//body of create and update requests; ids, versions and search keys can no longer be bound onto the entity
+public record EmployeeRequest(String firstName, String lastName, String email) {
+
+    public Employee toEmployee() {
+        return Employee.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.michael.test.payload.response;
+
+import lombok.*;
+
+import java.util.Map;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BatchGetResponse {
+    //every requested key is present in request order, mapped to null when no employee matches
+    private Map<Long, EmployeeResponse> byId;
+    private Map<String, EmployeeResponse> byEmail;
+}
@@ -0,0 +1,14 @@
+package com.michael.test.payload.response;
+
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BulkDeleteResponse {
+    //distinct ids in the request and how many of them had a row to delete
+    private int requested;
+    private int deleted;
+}
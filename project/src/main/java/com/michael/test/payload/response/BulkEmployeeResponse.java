@@ -0,0 +1,16 @@
+package com.michael.test.payload.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BulkEmployeeResponse {
+    private int created;
+    private int failed;
+    private List<BulkEmployeeResult> results;
+}
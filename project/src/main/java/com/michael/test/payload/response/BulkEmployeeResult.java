@@ -0,0 +1,17 @@
+package com.michael.test.payload.response;
+
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BulkEmployeeResult {
+    //position of the row in the request
+    private int index;
+    private boolean created;
+    private Long id;
+    private String email;
+    private String message;
+}
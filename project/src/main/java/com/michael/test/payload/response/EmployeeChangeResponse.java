@@ -0,0 +1,21 @@
+package com.michael.test.payload.response;
+
+import com.michael.test.entity.EmployeeChange;
+
+import java.time.Instant;
+
+//one entry of the change feed; version lets consumers skip a state they already hold
+public record EmployeeChangeResponse(long position,
+                                     Long employeeId,
+                                     EmployeeChange.Type type,
+                                     String firstName,
+                                     String lastName,
+                                     String email,
+                                     Long version,
+                                     Instant changedAt) {
+
+    public static EmployeeChangeResponse from(EmployeeChange change) {
+        return new EmployeeChangeResponse(change.getPosition(), change.getEmployeeId(), change.getType(),
+                change.getFirstName(), change.getLastName(), change.getEmail(), change.getVersion(), change.getCreatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package com.michael.test.payload.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class EmployeeChangesResponse {
+    private List<EmployeeChangeResponse> changes;
+    //position to pass as since on the next call, unchanged when there were no changes
+    private long next;
+}
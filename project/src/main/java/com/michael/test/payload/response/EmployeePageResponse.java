@@ -0,0 +1,17 @@
+package com.michael.test.payload.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class EmployeePageResponse {
+    private List<EmployeeResponse> content;
+    private int size;
+    //opaque token for the next page, null when this is the last page
+    private String nextCursor;
+}
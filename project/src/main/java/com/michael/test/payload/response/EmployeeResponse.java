@@ -0,0 +1,11 @@
+package com.michael.test.payload.response;
+
+import com.michael.test.entity.Employee;
+
+//what the API returns for an employee, decoupled from the JPA mapping
+public record EmployeeResponse(Long id, String firstName, String lastName, String email) {
+
+    public static EmployeeResponse from(Employee employee) {
+        return new EmployeeResponse(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    }
+}
@@ -5,13 +5,13 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.http.HttpStatus;
 
-import java.util.Date;
+import java.time.Instant;
 
 @NoArgsConstructor
 @Getter
 @Setter
 public class ErrorResponseMessage {
-    private Date timestamp;
+    private Instant timestamp;
     private int httpStatusCode;
     private HttpStatus httpStatus;
     private String message;
@@ -19,7 +19,7 @@ public class ErrorResponseMessage {
     public ErrorResponseMessage(int httpStatusCode,
                                 HttpStatus httpStatus,
                                 String message) {
-        timestamp = new Date();
+        timestamp = Instant.now();
         this.httpStatusCode = httpStatusCode;
         this.httpStatus = httpStatus;
         this.message = message;
@@ -0,0 +1,40 @@
+package com.michael.test.repository;
+
+import com.michael.test.entity.EmployeeChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+
+    boolean existsByPositionIsNull();
+
+    //outbox rows not yet in the feed, in the order their transactions wrote them
+    List<EmployeeChange> findByPositionIsNullOrderByIdAsc(Limit limit);
+
+    List<EmployeeChange> findByPositionGreaterThanOrderByPositionAsc(Long position, Limit limit);
+
+    @Query("select coalesce(max(c.position), 0) from EmployeeChange c")
+    long lastPosition();
+
+    //one INSERT ... SELECT recording the current state of many employees, for bulk writes and deletes
+    @Modifying
+    @Query("insert into EmployeeChange (employeeId, type, firstName, lastName, email, version, createdAt)" +
+            " select e.id, :type, e.firstName, e.lastName, e.email, e.version, :createdAt from Employee e where e.id in :ids")
+    int recordChanges(@Param("type") EmployeeChange.Type type,
+                      @Param("ids") Collection<Long> ids,
+                      @Param("createdAt") Instant createdAt);
+
+    //the newest published change is always kept, so a consumer behind the purge still sees a gap
+    @Modifying
+    @Query("delete from EmployeeChange c where c.position < :lastPosition and c.createdAt < :cutoff")
+    int deletePublishedBefore(@Param("lastPosition") long lastPosition, @Param("cutoff") Instant cutoff);
+}
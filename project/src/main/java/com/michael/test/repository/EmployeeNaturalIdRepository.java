@@ -0,0 +1,13 @@
+package com.michael.test.repository;
+
+import com.michael.test.entity.Employee;
+
+import java.util.Optional;
+
+//email lookups through the natural id of Employee instead of derived queries, see EmployeeNaturalIdRepositoryImpl
+public interface EmployeeNaturalIdRepository {
+
+    Optional<Employee> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+}
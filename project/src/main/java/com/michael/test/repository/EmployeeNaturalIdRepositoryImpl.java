@@ -0,0 +1,34 @@
+package com.michael.test.repository;
+
+import com.michael.test.entity.Employee;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.SimpleNaturalIdLoadAccess;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+//email resolves to an id through the natural-id cache and the entity then comes from the second-level cache by id,
+//SQL only runs for what neither cache holds: a primary key lookup by email, no JPQL
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class EmployeeNaturalIdRepositoryImpl implements EmployeeNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<Employee> findByEmail(String email) {
+        return byEmail().loadOptional(email);
+    }
+
+    //resolves the id only, the employee itself is not loaded
+    @Override
+    public boolean existsByEmail(String email) {
+        return byEmail().getReference(email) != null;
+    }
+
+    private SimpleNaturalIdLoadAccess<Employee> byEmail() {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Employee.class);
+    }
+}
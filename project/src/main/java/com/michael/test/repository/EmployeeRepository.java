@@ -1,31 +1,123 @@
 package com.michael.test.repository;
 
 import com.michael.test.entity.Employee;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeNaturalIdRepository {
 
-    Optional<Employee> findByEmail(String email);
+    //query cache region of the name finders; any write to employees invalidates its entries
+    String EMPLOYEE_NAME_QUERIES = "employee-name-queries";
 
-    Boolean existsByEmail(String email);
+    List<Employee> findByEmailIn(Collection<String> emails);
 
+    //rows a bulk delete is about to remove, locked until commit so a concurrent delete waits instead of failing the
+    //whole batch and the recorded changes and the deleted count match what is actually removed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Employee> findByIdIn(Collection<Long> ids);
+
+    @Query("select e.email from Employee e where e.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    //bulk reads only read the second-level cache: a walk over the table would otherwise put every row it loads into
+    //employee-entities and push the hot single-employee entries out
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    @Override
+    List<Employee> findAll();
+
+    //keyset pagination: seeks on the primary key instead of using OFFSET
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    //name search, keyset paginated on id: prefix LIKE uses the name indexes, the Soundex keys catch typos in whole names
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    @Query("select e from Employee e where e.id > :afterId" +
+            " and (e.firstName like :prefix escape '!' or e.lastName like :prefix escape '!'" +
+            " or e.firstNameKey = :key or e.lastNameKey = :key)" +
+            " order by e.id")
+    List<Employee> searchByName(@Param("prefix") String prefix,
+                                @Param("key") String key,
+                                @Param("afterId") Long afterId,
+                                Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    @Query("select e from Employee e where e.id > :afterId" +
+            " and (e.firstName like :firstPrefix escape '!' or e.firstNameKey = :firstKey)" +
+            " and (e.lastName like :lastPrefix escape '!' or e.lastNameKey = :lastKey)" +
+            " order by e.id")
+    List<Employee> searchByFullName(@Param("firstPrefix") String firstPrefix,
+                                    @Param("firstKey") String firstKey,
+                                    @Param("lastPrefix") String lastPrefix,
+                                    @Param("lastKey") String lastKey,
+                                    @Param("afterId") Long afterId,
+                                    Limit limit);
+
+    //fingerprint of the whole table for the collection ETag. The aggregates alone can repeat (a delete followed by an
+    //insert of a lower id from another node's sequence block), so it ends with the outbox head: every write records an
+    //EmployeeChange in its own transaction and their IDENTITY ids only grow. The aggregates still catch an outbox row
+    //committing after a higher one
+    @Query("select concat(count(e), '-', coalesce(max(e.id), 0), '-', coalesce(sum(e.version), 0), '-'," +
+            " (select coalesce(max(c.id), 0) from EmployeeChange c)) from Employee e")
+    String fingerprint();
+
+    //forward-only cursor for exports, must be consumed inside a transaction and closed. Hibernate restores the
+    //session cache mode once the cursor is open, before any row is read, so the caller turns off second-level cache
+    //puts on the session instead of through a hint here
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    //names are not unique, so the name finders return a bounded list ordered by id; served by the composite name indexes
     //define custom query using JPQL with index params
-    @Query("select e from Employee e where e.firstName =?1 and e.lastName =?2")
-    Employee findByJPQL(String firstName, String lastName);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EMPLOYEE_NAME_QUERIES)
+    })
+    @Query("select e from Employee e where e.firstName =?1 and e.lastName =?2 order by e.id")
+    List<Employee> findByJPQL(String firstName, String lastName, Pageable pageable);
 
     //define custom query using JPQL with named params
-    @Query("select e from Employee e where e.firstName =:firstName and e.lastName =:lastName")
-    Employee findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EMPLOYEE_NAME_QUERIES)
+    })
+    @Query("select e from Employee e where e.firstName =:firstName and e.lastName =:lastName order by e.id")
+    List<Employee> findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName, Pageable pageable);
 
-    @Query(value = "select * from employees as e where e.first_name = ?1 and e.last_name =?2", nativeQuery = true)
-    Employee findByNativeSQL(String firstName, String lastName);
+    //the native finders name their table so that writes to employees invalidate their cached results
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EMPLOYEE_NAME_QUERIES),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employees")
+    })
+    @Query(value = "select * from employees as e where e.first_name = ?1 and e.last_name =?2 order by e.id", nativeQuery = true)
+    List<Employee> findByNativeSQL(String firstName, String lastName, Pageable pageable);
 
-    @Query(value = "select * from employees as e where e.first_name=:firstName and e.last_name =:lastName", nativeQuery = true)
-    Employee findByNativeSQLNamed(@Param("firstName") String firstName, @Param("lastName") String lastName);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EMPLOYEE_NAME_QUERIES),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employees")
+    })
+    @Query(value = "select * from employees as e where e.first_name=:firstName and e.last_name =:lastName order by e.id", nativeQuery = true)
+    List<Employee> findByNativeSQLNamed(@Param("firstName") String firstName, @Param("lastName") String lastName, Pageable pageable);
 }
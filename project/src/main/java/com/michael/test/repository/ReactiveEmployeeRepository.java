@@ -0,0 +1,173 @@
+package com.michael.test.repository;
+
+import com.michael.test.entity.Employee;
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// R2DBC access to the same employees table the JPA repository maps
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveEmployeeRepository {
+
+    private static final String SELECT_EMPLOYEE = "select id, first_name, last_name, email, version from employees";
+    // must match the allocationSize of the employees_seq generator on Employee
+    private static final long ID_BLOCK_SIZE = 50;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    public Flux<Employee> findAll() {
+        return databaseClient.sql(SELECT_EMPLOYEE + " order by id")
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    // keyset page: seeks on the primary key like EmployeeRepository.findByIdGreaterThanOrderByIdAsc
+    public Flux<Employee> findPage(Long afterId, int limit) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where id > :afterId order by id limit :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Flux<String> findExistingEmails(Collection<String> emails) {
+        return databaseClient.sql("select email from employees where email in (:emails)")
+                .bind("emails", emails)
+                .map(row -> row.get("email", String.class))
+                .all();
+    }
+
+    public Mono<Employee> findById(Long id) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    public Mono<Employee> findByEmail(String email) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where email = :email")
+                .bind("email", email)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    public Mono<Employee> insert(Employee employee) {
+        return reserveIds(1)
+                .flatMap(id -> databaseClient.sql("insert into employees (id, first_name, last_name, email, first_name_key, last_name_key, version)" +
+                                " values (:id, :firstName, :lastName, :email, :firstNameKey, :lastNameKey, 0)")
+                        .bind("id", id)
+                        .bind("firstName", employee.getFirstName())
+                        .bind("lastName", employee.getLastName())
+                        .bind("email", employee.getEmail())
+                        .bind("firstNameKey", nameKey(employee.getFirstName()))
+                        .bind("lastNameKey", nameKey(employee.getLastName()))
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(Employee.builder()
+                                .id(id)
+                                .firstName(employee.getFirstName())
+                                .lastName(employee.getLastName())
+                                .email(employee.getEmail())
+                                .version(0L)
+                                .build()));
+    }
+
+    // one multi-row INSERT for a bulk chunk, atomic on its own. The ids are reserved in a transaction of their own
+    // first, so the sequence row is not locked while the rows are written; the saved employees come back in order
+    public Mono<List<Employee>> insertAll(List<Employee> employees) {
+        return reserveIds(employees.size())
+                .flatMap(firstId -> {
+                    StringBuilder sql = new StringBuilder("insert into employees (id, first_name, last_name, email, first_name_key, last_name_key, version) values ");
+                    List<Employee> saved = new ArrayList<>(employees.size());
+                    for (int i = 0; i < employees.size(); i++) {
+                        sql.append(i == 0 ? "" : ", ")
+                                .append(String.format("(:id%1$d, :firstName%1$d, :lastName%1$d, :email%1$d, :firstNameKey%1$d, :lastNameKey%1$d, 0)", i));
+                        Employee employee = employees.get(i);
+                        saved.add(Employee.builder()
+                                .id(firstId + i)
+                                .firstName(employee.getFirstName())
+                                .lastName(employee.getLastName())
+                                .email(employee.getEmail())
+                                .version(0L)
+                                .build());
+                    }
+                    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+                    for (int i = 0; i < saved.size(); i++) {
+                        Employee employee = saved.get(i);
+                        spec = spec.bind("id" + i, employee.getId())
+                                .bind("firstName" + i, employee.getFirstName())
+                                .bind("lastName" + i, employee.getLastName())
+                                .bind("email" + i, employee.getEmail())
+                                .bind("firstNameKey" + i, nameKey(employee.getFirstName()))
+                                .bind("lastNameKey" + i, nameKey(employee.getLastName()));
+                    }
+                    return spec.fetch().rowsUpdated().thenReturn(saved);
+                });
+    }
+
+    public Mono<Long> updateNames(Long id, String firstName, String lastName) {
+        return databaseClient.sql("update employees set first_name = :firstName, last_name = :lastName," +
+                        " first_name_key = :firstNameKey, last_name_key = :lastNameKey, version = version + 1 where id = :id")
+                .bind("firstName", firstName)
+                .bind("lastName", lastName)
+                .bind("firstNameKey", nameKey(firstName))
+                .bind("lastNameKey", nameKey(lastName))
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("delete from employees where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // reserves whole blocks in employees_seq the way Hibernate's pooled optimizer does, so ids never collide
+    // with the JPA side. Reading current owns the block ending at current and every following block up to the new
+    // next_val, so count ids starting at current fit into (count - 1) / ID_BLOCK_SIZE + 1 blocks; returns the first
+    private Mono<Long> reserveIds(int count) {
+        long blocks = (count - 1) / ID_BLOCK_SIZE + 1;
+        Mono<Long> reserve = databaseClient.sql("select next_val from employees_seq for update")
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .flatMap(current -> databaseClient.sql("update employees_seq set next_val = :next where next_val = :current")
+                        .bind("next", current + blocks * ID_BLOCK_SIZE)
+                        .bind("current", current)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(current));
+        return transactionalOperator.transactional(reserve);
+    }
+
+    //the search keys JPA derives in @PrePersist/@PreUpdate, null when the name has no letters
+    private static Parameter nameKey(String name) {
+        return Parameters.in(R2dbcType.VARCHAR, Employee.nameKey(name));
+    }
+
+    private static Employee toEmployee(Readable row) {
+        return Employee.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
@@ -1,20 +1,46 @@
 package com.michael.test.service;
 
 import com.michael.test.entity.Employee;
+import com.michael.test.payload.request.BatchGetRequest;
+import com.michael.test.payload.request.EmployeePatchRequest;
+import com.michael.test.payload.response.BatchGetResponse;
+import com.michael.test.payload.response.BulkDeleteResponse;
+import com.michael.test.payload.response.BulkEmployeeResponse;
+import com.michael.test.payload.response.EmployeeChangesResponse;
+import com.michael.test.payload.response.EmployeePageResponse;
 import com.michael.test.payload.response.MessageResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
 
+    BulkEmployeeResponse saveEmployees(List<Employee> employees);
+
     List<Employee> getAllEmployee();
 
+    String getEmployeesFingerprint();
+
+    EmployeePageResponse getEmployeePage(String cursor, int size);
+
+    EmployeePageResponse searchEmployees(String query, String cursor, int size);
+
+    void exportEmployees(Consumer<Employee> consumer);
+
     Employee getById(Long employeeId);
 
     Employee getByEmail(String email);
 
+    BatchGetResponse batchGet(BatchGetRequest request);
+
     Employee updateEmployee(Long employeeId, Employee newEmployee);
 
+    Employee patchEmployee(Long employeeId, EmployeePatchRequest patch, Long expectedVersion);
+
     MessageResponse deleteEmployee(Long employeeId);
+
+    BulkDeleteResponse deleteEmployees(List<Long> employeeIds);
+
+    EmployeeChangesResponse getChanges(long since, int size);
 }
@@ -0,0 +1,28 @@
+package com.michael.test.service;
+
+import com.michael.test.entity.Employee;
+import com.michael.test.payload.response.BulkEmployeeResponse;
+import com.michael.test.payload.response.EmployeePageResponse;
+import com.michael.test.payload.response.MessageResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveEmployeeService {
+    Mono<Employee> saveEmployee(Employee employee);
+
+    Mono<BulkEmployeeResponse> saveEmployees(List<Employee> employees);
+
+    Flux<Employee> getAllEmployee();
+
+    Mono<EmployeePageResponse> getEmployeePage(String cursor, int size);
+
+    Mono<Employee> getById(Long employeeId);
+
+    Mono<Employee> getByEmail(String email);
+
+    Mono<Employee> updateEmployee(Long employeeId, Employee newEmployee);
+
+    Mono<MessageResponse> deleteEmployee(Long employeeId);
+}
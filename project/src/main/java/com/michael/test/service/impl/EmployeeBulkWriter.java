@@ -0,0 +1,37 @@
+package com.michael.test.service.impl;
+
+import com.michael.test.entity.Employee;
+import com.michael.test.entity.EmployeeChange;
+import com.michael.test.repository.EmployeeChangeRepository;
+import com.michael.test.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+//writes one chunk of a bulk import per transaction, so a failing chunk does not roll back the others
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class EmployeeBulkWriter {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeChangeRepository employeeChangeRepository;
+    private final EntityManager entityManager;
+
+    @Transactional
+    public List<Employee> insertChunk(List<Employee> employees) {
+        List<Employee> savedEmployees = employeeRepository.saveAll(employees);
+        //flush through the repository so constraint violations are translated and surface here
+        employeeRepository.flush();
+        //the chunk's outbox rows in one INSERT ... SELECT
+        employeeChangeRepository.recordChanges(EmployeeChange.Type.CREATED,
+                savedEmployees.stream().map(Employee::getId).toList(), Instant.now());
+        entityManager.clear();
+        return savedEmployees;
+    }
+}
@@ -0,0 +1,165 @@
+package com.michael.test.service.impl;
+
+import com.michael.test.payload.response.EmployeeChangeResponse;
+import com.michael.test.payload.response.EmployeeChangesResponse;
+import com.michael.test.repository.EmployeeChangeRepository;
+import com.michael.test.service.EmployeeService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+//waiting side of the change feed: long polls and SSE subscribers park on a future instead of a thread and only
+//query when the published head moves past their position. Every node follows the head on its own, whether or
+//not it runs the relay
+@Component
+@Profile("!reactive")
+@Slf4j
+public class EmployeeChangeFeed {
+
+    public static final String WAITING_METRIC = "employee.changes.waiting";
+    public static final int MAX_WAIT_SECONDS = 60;
+    public static final String SSE_EVENT = "employee-change";
+    private static final Duration SSE_TIMEOUT = Duration.ofMinutes(30);
+    //a replica can lag behind the head read from the primary, an empty read is retried after this delay
+    private static final long RETRY_DELAY_MILLIS = 500;
+
+    private final EmployeeService employeeService;
+    private final EmployeeChangeRepository employeeChangeRepository;
+    private final AsyncTaskExecutor executor;
+    //waiting futures and the position each waits to pass; a future leaves the map however it completes
+    private final Map<CompletableFuture<Long>, Long> waiters = new ConcurrentHashMap<>();
+    private volatile long head;
+
+    public EmployeeChangeFeed(EmployeeService employeeService,
+                              EmployeeChangeRepository employeeChangeRepository,
+                              @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                              MeterRegistry meterRegistry) {
+        this.employeeService = employeeService;
+        this.employeeChangeRepository = employeeChangeRepository;
+        this.executor = executor;
+        Gauge.builder(WAITING_METRIC, waiters, Map::size)
+                .description("long polls and streams waiting for the next change")
+                .register(meterRegistry);
+    }
+
+    //one max() on the position index per interval; the relay also calls it right after publishing
+    @Scheduled(fixedDelayString = "${employee.changes.feed.refresh-interval:PT0.2S}")
+    public void refresh() {
+        try {
+            advance(employeeChangeRepository.lastPosition());
+        } catch (DataAccessException exception) {
+            log.warn("Could not read the change feed head: {}", exception.getMessage());
+        }
+    }
+
+    private void advance(long position) {
+        synchronized (this) {
+            if (position <= head) {
+                return;
+            }
+            head = position;
+        }
+        waiters.forEach((waiter, since) -> {
+            if (since < position) {
+                waiter.complete(position);
+            }
+        });
+    }
+
+    //answers as soon as there are changes after since, or with an empty page when the wait runs out
+    public CompletableFuture<EmployeeChangesResponse> poll(long since, int size, int waitSeconds) {
+        return after(since)
+                .orTimeout(Math.min(Math.max(waitSeconds, 0), MAX_WAIT_SECONDS), TimeUnit.SECONDS)
+                .exceptionally(exception -> {
+                    if (exception instanceof TimeoutException) {
+                        return since;
+                    }
+                    throw new CompletionException(exception);
+                })
+                .thenApplyAsync(position -> employeeService.getChanges(since, size), executor);
+    }
+
+    //every change becomes one event whose id is its position, so a reconnecting client resumes with Last-Event-ID
+    public SseEmitter stream(long since, int size) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT.toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        AtomicReference<CompletableFuture<Long>> pending = new AtomicReference<>();
+        Runnable close = () -> {
+            open.set(false);
+            CompletableFuture<Long> waiter = pending.get();
+            if (waiter != null) {
+                waiter.cancel(false);
+            }
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(close);
+        emitter.onError(exception -> close.run());
+        push(emitter, open, pending, since, size, after(since));
+        return emitter;
+    }
+
+    private void push(SseEmitter emitter, AtomicBoolean open, AtomicReference<CompletableFuture<Long>> pending,
+                      long since, int size, CompletableFuture<Long> ready) {
+        pending.set(ready);
+        if (!open.get()) {
+            ready.cancel(false);
+            return;
+        }
+        ready.thenRunAsync(() -> {
+            if (!open.get()) {
+                return;
+            }
+            try {
+                EmployeeChangesResponse page = employeeService.getChanges(since, size);
+                for (EmployeeChangeResponse change : page.getChanges()) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.position()))
+                            .name(SSE_EVENT)
+                            .data(change));
+                }
+                push(emitter, open, pending, page.getNext(), size, page.getChanges().isEmpty()
+                        ? retryLater(page.getNext())
+                        : after(page.getNext()));
+            } catch (IOException | RuntimeException exception) {
+                log.debug("Change stream closed: {}", exception.getMessage());
+                emitter.completeWithError(exception);
+            }
+        }, executor);
+    }
+
+    private CompletableFuture<Long> after(long since) {
+        CompletableFuture<Long> waiter = new CompletableFuture<>();
+        waiters.put(waiter, since);
+        waiter.whenComplete((position, exception) -> waiters.remove(waiter));
+        //checked after registering, so an advance in between either is seen here or completes the waiter
+        long current = head;
+        if (current > since) {
+            waiter.complete(current);
+        }
+        return waiter;
+    }
+
+    //head is already past since here, so the waiter registered after the delay completes at once
+    private CompletableFuture<Long> retryLater(long since) {
+        return CompletableFuture.supplyAsync(() -> since, CompletableFuture.delayedExecutor(RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS, executor))
+                .thenCompose(this::after);
+    }
+}
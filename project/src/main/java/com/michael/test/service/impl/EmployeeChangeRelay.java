@@ -0,0 +1,90 @@
+package com.michael.test.service.impl;
+
+import com.michael.test.entity.EmployeeChange;
+import com.michael.test.entity.EmployeeChangeFeedState;
+import com.michael.test.repository.EmployeeChangeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+//publishes committed outbox rows to the change feed in batches. Each pending row gets the next position in the
+//order the relay sees it, so a consumer reading "after position N" never misses a row whose transaction
+//committed late, as it would when following ids directly
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "employee.changes.relay.enabled", matchIfMissing = true)
+@Slf4j
+public class EmployeeChangeRelay {
+
+    private final EmployeeChangeRepository employeeChangeRepository;
+    private final EntityManager entityManager;
+    private final EmployeeChangeFeed employeeChangeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    public EmployeeChangeRelay(EmployeeChangeRepository employeeChangeRepository,
+                               EntityManager entityManager,
+                               EmployeeChangeFeed employeeChangeFeed,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${employee.changes.relay.batch-size:500}") int batchSize,
+                               @Value("${employee.changes.retention:7d}") Duration retention) {
+        this.employeeChangeRepository = employeeChangeRepository;
+        this.entityManager = entityManager;
+        this.employeeChangeFeed = employeeChangeFeed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    //the pending check is a read-only query on an index, an idle tick writes nothing
+    @Scheduled(fixedDelayString = "${employee.changes.relay.interval:PT0.2S}")
+    public void relay() {
+        if (!employeeChangeRepository.existsByPositionIsNull()) {
+            return;
+        }
+        int published;
+        do {
+            published = transactionTemplate.execute(status -> publishBatch());
+        } while (published == batchSize);
+        //wakes this node's waiters now instead of at the feed's next refresh
+        employeeChangeFeed.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.changes.purge-interval:PT1H}")
+    public void purge() {
+        int purged = transactionTemplate.execute(status -> employeeChangeRepository.deletePublishedBefore(
+                employeeChangeRepository.lastPosition(), Instant.now().minus(retention)));
+        if (purged > 0) {
+            log.info("Purged {} employee changes older than {}", purged, retention);
+        }
+    }
+
+    private int publishBatch() {
+        //the state row lock serializes the relays of all nodes, so every position is handed out once and in order
+        EmployeeChangeFeedState state = entityManager.find(EmployeeChangeFeedState.class, EmployeeChangeFeedState.ID, LockModeType.PESSIMISTIC_WRITE);
+        if (state == null) {
+            state = new EmployeeChangeFeedState(EmployeeChangeFeedState.ID, 0);
+            entityManager.persist(state);
+        }
+        List<EmployeeChange> pending = employeeChangeRepository.findByPositionIsNullOrderByIdAsc(Limit.of(batchSize));
+        long position = state.getLastPosition();
+        for (EmployeeChange change : pending) {
+            change.setPosition(++position);
+        }
+        state.setLastPosition(position);
+        return pending.size();
+    }
+}
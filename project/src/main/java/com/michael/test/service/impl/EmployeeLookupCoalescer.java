@@ -0,0 +1,203 @@
+package com.michael.test.service.impl;
+
+import com.michael.test.entity.Employee;
+import com.michael.test.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+//single-flight reads: concurrent lookups of one key share a query, and while other lookups are in flight keys arriving
+//within the window share an IN query
+@Component
+@Profile("!reactive")
+public class EmployeeLookupCoalescer {
+
+    public static final String REQUESTS_METRIC = "employee.lookup.requests";
+    public static final String QUERIES_METRIC = "employee.lookup.queries";
+    public static final String RATIO_METRIC = "employee.lookup.coalescing.ratio";
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final Batcher<Long> byId;
+    private final Batcher<String> byEmail;
+
+    //only the thread that runs a query opens a read-only transaction (and may be routed to a replica),
+    //cache hits and callers waiting for a shared result hold no connection
+    @Autowired
+    public EmployeeLookupCoalescer(EmployeeRepository employeeRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${employee.coalescing.window:2ms}") Duration window) {
+        this(employeeRepository, readOnly(transactionManager), meterRegistry, window);
+    }
+
+    public EmployeeLookupCoalescer(EmployeeRepository employeeRepository,
+                                   TransactionOperations readOnlyTransaction,
+                                   MeterRegistry meterRegistry,
+                                   Duration window) {
+        byId = new Batcher<>("id", window, meterRegistry, readOnlyTransaction,
+                id -> employeeRepository.findById(id),
+                ids -> {
+                    Map<Long, Employee> found = new HashMap<>();
+                    employeeRepository.findAllById(ids).forEach(employee -> found.put(employee.getId(), employee));
+                    return found;
+                },
+                Function.identity());
+        //the email column compares case-insensitively, so batch results are matched on the lower-cased email
+        byEmail = new Batcher<>("email", window, meterRegistry, readOnlyTransaction,
+                employeeRepository::findByEmail,
+                emails -> {
+                    Map<String, Employee> found = new HashMap<>();
+                    employeeRepository.findByEmailIn(emails).forEach(employee -> found.put(employee.getEmail().toLowerCase(Locale.ROOT), employee));
+                    return found;
+                },
+                email -> email.toLowerCase(Locale.ROOT));
+    }
+
+    public Optional<Employee> findById(Long employeeId) {
+        return byId.get(employeeId);
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        return byEmail.get(email);
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
+    private static final class Batcher<K> {
+        private final Duration window;
+        private final Function<K, Optional<Employee>> singleLoader;
+        private final Function<List<K>, Map<K, Employee>> batchLoader;
+        private final Function<K, K> resultKey;
+        private final Counter requests;
+        private final Counter queries;
+        private final ConcurrentHashMap<K, CompletableFuture<Optional<Employee>>> inFlight = new ConcurrentHashMap<>();
+        //batch still accepting keys, guarded by this
+        private Map<K, CompletableFuture<Optional<Employee>>> open;
+
+        private Batcher(String keyType,
+                        Duration window,
+                        MeterRegistry meterRegistry,
+                        TransactionOperations transaction,
+                        Function<K, Optional<Employee>> singleLoader,
+                        Function<List<K>, Map<K, Employee>> batchLoader,
+                        Function<K, K> resultKey) {
+            this.window = window;
+            this.singleLoader = key -> transaction.execute(status -> singleLoader.apply(key));
+            this.batchLoader = keys -> transaction.execute(status -> batchLoader.apply(keys));
+            this.resultKey = resultKey;
+            requests = meterRegistry.counter(REQUESTS_METRIC, "key", keyType);
+            queries = meterRegistry.counter(QUERIES_METRIC, "key", keyType);
+            Gauge.builder(RATIO_METRIC, this, batcher -> batcher.queries.count() == 0 ? 1 : batcher.requests.count() / batcher.queries.count())
+                    .description("lookups answered per database query")
+                    .tag("key", keyType)
+                    .register(meterRegistry);
+        }
+
+        Optional<Employee> get(K key) {
+            CompletableFuture<Optional<Employee>> future = new CompletableFuture<>();
+            CompletableFuture<Optional<Employee>> existing = inFlight.putIfAbsent(key, future);
+            requests.increment();
+            if (existing != null) {
+                return join(existing);
+            }
+            Map<K, CompletableFuture<Optional<Employee>>> batch;
+            boolean leader;
+            boolean alone = false;
+            synchronized (this) {
+                leader = open == null;
+                if (leader) {
+                    batch = new LinkedHashMap<>();
+                    //no other lookup in flight means nobody is likely to join, the key is queried right away instead
+                    //of paying the window on an idle service
+                    alone = inFlight.size() == 1;
+                    if (!alone) {
+                        open = batch;
+                    }
+                } else {
+                    batch = open;
+                }
+                batch.put(key, future);
+                if (open == batch && batch.size() >= MAX_BATCH_SIZE) {
+                    open = null;
+                }
+            }
+            //under load the first caller of a batch waits out the window and then runs the query for everyone in it
+            if (leader) {
+                if (!alone) {
+                    sleepWindow();
+                    synchronized (this) {
+                        if (open == batch) {
+                            open = null;
+                        }
+                    }
+                }
+                load(batch);
+            }
+            return join(future);
+        }
+
+        private void load(Map<K, CompletableFuture<Optional<Employee>>> batch) {
+            queries.increment();
+            try {
+                if (batch.size() == 1) {
+                    Map.Entry<K, CompletableFuture<Optional<Employee>>> entry = batch.entrySet().iterator().next();
+                    entry.getValue().complete(singleLoader.apply(entry.getKey()));
+                } else {
+                    Map<K, Employee> found = batchLoader.apply(new ArrayList<>(batch.keySet()));
+                    batch.forEach((key, future) -> future.complete(Optional.ofNullable(found.get(resultKey.apply(key)))));
+                }
+            } catch (RuntimeException exception) {
+                batch.values().forEach(future -> future.completeExceptionally(exception));
+            } finally {
+                batch.forEach(inFlight::remove);
+            }
+        }
+
+        private void sleepWindow() {
+            if (window.isZero() || window.isNegative()) {
+                return;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(window.toNanos());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private static Optional<Employee> join(CompletableFuture<Optional<Employee>> future) {
+            try {
+                return future.join();
+            } catch (CompletionException exception) {
+                if (exception.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw exception;
+            }
+        }
+    }
+}
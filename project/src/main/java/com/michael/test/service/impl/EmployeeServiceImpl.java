@@ -1,70 +1,523 @@
 package com.michael.test.service.impl;
 
+import com.michael.test.cache.EmployeeCache;
 import com.michael.test.entity.Employee;
+import com.michael.test.entity.EmployeeChange;
+import com.michael.test.exceptions.ChangesExpiredException;
+import com.michael.test.exceptions.EmailExistException;
 import com.michael.test.exceptions.EmployeeNotFoundException;
+import com.michael.test.exceptions.EmployeeVersionMismatchException;
+import com.michael.test.exceptions.InvalidCursorException;
+import com.michael.test.exceptions.InvalidSearchQueryException;
+import com.michael.test.payload.request.BatchGetRequest;
+import com.michael.test.payload.request.EmployeePatchRequest;
+import com.michael.test.payload.response.BatchGetResponse;
+import com.michael.test.payload.response.BulkDeleteResponse;
+import com.michael.test.payload.response.BulkEmployeeResponse;
+import com.michael.test.payload.response.BulkEmployeeResult;
+import com.michael.test.payload.response.EmployeeChangeResponse;
+import com.michael.test.payload.response.EmployeeChangesResponse;
+import com.michael.test.payload.response.EmployeePageResponse;
+import com.michael.test.payload.response.EmployeeResponse;
 import com.michael.test.payload.response.MessageResponse;
+import com.michael.test.repository.EmployeeChangeRepository;
 import com.michael.test.repository.EmployeeRepository;
 import com.michael.test.service.EmployeeService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
+// every public method is timed as employee.service{class,method,exception}
+@Timed("employee.service")
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 public class EmployeeServiceImpl implements EmployeeService {
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MIN_SEARCH_LENGTH = 2;
+    public static final int BULK_CHUNK_SIZE = 500;
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    private static final String SQL_STATE_UNIQUE_VIOLATION = "23505";
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
 
     private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final EmployeeCache employeeCache;
+    private final EmployeeBulkWriter employeeBulkWriter;
+    private final EmployeeLookupCoalescer employeeLookupCoalescer;
+    private final EmployeeChangeRepository employeeChangeRepository;
 
 
+    //every write below also records an EmployeeChange in its own transaction (the outbox), which
+    //EmployeeChangeRelay publishes to the change feed once committed
     @Override
+    @Transactional
     public Employee saveEmployee(Employee employee) {
-        if (employeeRepository.existsByEmail(employee.getEmail())) {
-            throw new EmployeeNotFoundException(String.format("Employee with email: %s already exists", employee.getEmail()));
+        //a single INSERT guarded by the unique index on employees.email, no racy existsByEmail pre-check
+        employee.setId(null);
+        try {
+            Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+            employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.CREATED, savedEmployee));
+            return cache(savedEmployee);
+        } catch (DataIntegrityViolationException exception) {
+            if (isDuplicateKey(exception)) {
+                throw new EmailExistException(String.format("Employee with email: %s already exists", employee.getEmail()));
+            }
+            throw exception;
         }
-        return employeeRepository.save(employee);
     }
 
     @Override
+    public BulkEmployeeResponse saveEmployees(List<Employee> employees) {
+        BulkEmployeeResult[] results = new BulkEmployeeResult[employees.size()];
+        List<Integer> candidates = new ArrayList<>(employees.size());
+        Set<String> emailsInRequest = new HashSet<>();
+        for (int index = 0; index < employees.size(); index++) {
+            Employee employee = employees.get(index);
+            if (employee == null || isBlank(employee.getFirstName()) || isBlank(employee.getLastName()) || isBlank(employee.getEmail())) {
+                results[index] = failed(index, employee, "firstName, lastName and email are required");
+            } else if (!emailsInRequest.add(employee.getEmail().toLowerCase(Locale.ROOT))) {
+                results[index] = failed(index, employee, String.format("Employee with email: %s is duplicated in request", employee.getEmail()));
+            } else {
+                candidates.add(index);
+            }
+        }
+
+        Set<String> existingEmails = findExistingEmails(candidates.stream().map(index -> employees.get(index).getEmail()).toList());
+        List<Integer> newEmployees = new ArrayList<>(candidates.size());
+        for (Integer index : candidates) {
+            Employee employee = employees.get(index);
+            if (existingEmails.contains(employee.getEmail().toLowerCase(Locale.ROOT))) {
+                results[index] = failed(index, employee, String.format("Employee with email: %s already exists", employee.getEmail()));
+            } else {
+                newEmployees.add(index);
+            }
+        }
+
+        for (int from = 0; from < newEmployees.size(); from += BULK_CHUNK_SIZE) {
+            insertChunk(employees, newEmployees.subList(from, Math.min(from + BULK_CHUNK_SIZE, newEmployees.size())), results);
+        }
+
+        int created = (int) Arrays.stream(results).filter(BulkEmployeeResult::isCreated).count();
+        return BulkEmployeeResponse.builder()
+                .created(created)
+                .failed(results.length - created)
+                .results(List.of(results))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployee() {
         return employeeRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getEmployeesFingerprint() {
+        return employeeRepository.fingerprint();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePageResponse getEmployeePage(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        //one extra row tells us whether there is a next page without a count query
+        return toPage(employeeRepository.findByIdGreaterThanOrderByIdAsc(decodeCursor(cursor), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePageResponse searchEmployees(String query, String cursor, int size) {
+        String[] terms = query == null ? new String[0] : query.trim().split("\\s+");
+        if (terms.length == 0 || terms[0].length() < MIN_SEARCH_LENGTH) {
+            throw new InvalidSearchQueryException(String.format("Search query: %s must have at least %s characters", query, MIN_SEARCH_LENGTH));
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Long afterId = decodeCursor(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        if (terms.length == 1) {
+            return toPage(employeeRepository.searchByName(likePrefix(terms[0]), Employee.nameKey(terms[0]), afterId, limit), pageSize);
+        }
+        //"first last": the first term matches first names and the last term matches last names
+        String first = terms[0];
+        String last = terms[terms.length - 1];
+        return toPage(employeeRepository.searchByFullName(likePrefix(first), Employee.nameKey(first),
+                likePrefix(last), Employee.nameKey(last), afterId, limit), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<Employee> consumer) {
+        //an export touches every row once, putting them into the second-level cache would only push out the hot entries
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                //keep the persistence context empty so heap use does not grow with the table
+                entityManager.detach(employee);
+            });
+        } finally {
+            //the session outlives this transaction under open-in-view
+            entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.USE);
+        }
+    }
+
 
     @Override
     public Employee getById(Long employeeId) {
-        return findEmployeeByIdInDB(employeeId);
+        //cache misses go through the coalescer, so a hot key costs one query however many threads ask for it;
+        //the coalescer runs that query in a read-only transaction
+        return employeeCache.getById(employeeId)
+                .orElseGet(() -> cacheLoaded(employeeLookupCoalescer.findById(employeeId)
+                        .orElseThrow(() -> EmployeeNotFoundException.byId(employeeId))));
     }
 
     @Override
     public Employee getByEmail(String email) {
-        return employeeRepository.findByEmail(email)
-                .orElseThrow(() -> new EmployeeNotFoundException(String.format("Employee with email: %s not found", email)));
+        return employeeCache.getByEmail(email)
+                .orElseGet(() -> cacheLoaded(employeeLookupCoalescer.findByEmail(email)
+                        .orElseThrow(() -> EmployeeNotFoundException.byEmail(email))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchGetResponse batchGet(BatchGetRequest request) {
+        return BatchGetResponse.builder()
+                .byId(toResponses(batchGetByIds(request.getIds())))
+                .byEmail(toResponses(batchGetByEmails(request.getEmails())))
+                .build();
     }
 
 
     @Override
-     public Employee updateEmployee(Long employeeId, Employee newEmployee) {
+    @Transactional
+    public Employee updateEmployee(Long employeeId, Employee newEmployee) {
         Employee employee = findEmployeeByIdInDB(employeeId);
         employee.setFirstName(newEmployee.getFirstName());
         employee.setLastName(newEmployee.getLastName());
-        return employeeRepository.save(employee);
+        //flushed first so the recorded change carries the new version
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.UPDATED, savedEmployee));
+        return cache(savedEmployee);
+    }
+
+    @Override
+    @Transactional
+    public Employee patchEmployee(Long employeeId, EmployeePatchRequest patch, Long expectedVersion) {
+        //loaded as an entity (usually from the second-level cache) so Hibernate replaces just this employee's cache
+        //entry on commit; a JPQL UPDATE would clear the whole entity region
+        Employee employee = findEmployeeByIdInDB(employeeId);
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            throw versionMismatch(employeeId, expectedVersion);
+        }
+        boolean changed = false;
+        if (patch.getFirstName() != null && !patch.getFirstName().equals(employee.getFirstName())) {
+            employee.setFirstName(patch.getFirstName());
+            changed = true;
+        }
+        if (patch.getLastName() != null && !patch.getLastName().equals(employee.getLastName())) {
+            employee.setLastName(patch.getLastName());
+            changed = true;
+        }
+        employeeCache.evict(employeeId);
+        if (!changed) {
+            return cache(employee);
+        }
+        try {
+            //flushed here so the versioned UPDATE catches a concurrent writer and the change carries the new version
+            employee = employeeRepository.saveAndFlush(employee);
+        } catch (ObjectOptimisticLockingFailureException exception) {
+            if (expectedVersion == null) {
+                throw exception;
+            }
+            throw versionMismatch(employeeId, expectedVersion);
+        }
+        employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.UPDATED, employee));
+        return cache(employee);
     }
 
 
     @Override
+    @Transactional
     public MessageResponse deleteEmployee(Long employeeId) {
-        Employee employee = findEmployeeByIdInDB(employeeId);
+        //removed as an entity, which evicts only its own second-level cache entries. The lookup is usually a
+        //second-level cache hit, so the versioned DELETE is the only statement besides the change; if it matches no
+        //row a concurrent writer got there first and the client gets 409 and retries
+        Employee employee = employeeRepository.findById(employeeId).orElse(null);
+        employeeCache.evict(employeeId);
+        if (employee == null) {
+            throw EmployeeNotFoundException.byId(employeeId);
+        }
+        employeeChangeRepository.save(EmployeeChange.of(EmployeeChange.Type.DELETED, employee));
         employeeRepository.delete(employee);
         return new MessageResponse(String.format("Employee with id: %s was deleted", employeeId));
     }
 
+    @Override
+    @Transactional
+    public BulkDeleteResponse deleteEmployees(List<Long> employeeIds) {
+        List<Long> ids = employeeIds.stream().filter(Objects::nonNull).distinct().toList();
+        int deleted = 0;
+        Instant deletedAt = Instant.now();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+            //one locking IN query loads the chunk, the changes are recorded from the locked rows and the removals go
+            //out as batched DELETEs, each evicting only its own second-level cache entries
+            List<Employee> employees = employeeRepository.findByIdIn(chunk);
+            employeeChangeRepository.recordChanges(EmployeeChange.Type.DELETED, chunk, deletedAt);
+            employeeRepository.deleteAll(employees);
+            employeeRepository.flush();
+            deleted += employees.size();
+        }
+        ids.forEach(employeeCache::evict);
+        return BulkDeleteResponse.builder()
+                .requested(ids.size())
+                .deleted(deleted)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeChangesResponse getChanges(long since, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        long after = Math.max(since, 0);
+        List<EmployeeChange> changes = employeeChangeRepository.findByPositionGreaterThanOrderByPositionAsc(after, Limit.of(pageSize));
+        //positions are handed out without gaps, so a jump means the changes in between were purged
+        if (!changes.isEmpty() && changes.get(0).getPosition() > after + 1) {
+            throw new ChangesExpiredException(String.format("Changes after position: %s are no longer retained, reload the employees and follow the changes from position: %s",
+                    after, changes.get(0).getPosition() - 1));
+        }
+        return EmployeeChangesResponse.builder()
+                .changes(changes.stream().map(EmployeeChangeResponse::from).toList())
+                .next(changes.isEmpty() ? after : changes.get(changes.size() - 1).getPosition())
+                .build();
+    }
+
+    private static EmployeeVersionMismatchException versionMismatch(Long employeeId, Long expectedVersion) {
+        return new EmployeeVersionMismatchException(String.format("Employee with id: %s is no longer at version: %s", employeeId, expectedVersion));
+    }
+
     private Employee findEmployeeByIdInDB(Long employeeId) {
         return employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new EmployeeNotFoundException(String.format("Employee with id: %s not found", employeeId)));
+                .orElseThrow(() -> EmployeeNotFoundException.byId(employeeId));
+    }
+
+    //lower-cased like the duplicate check: the email column compares case-insensitively, so a stored address
+    //matches whatever case the request uses and would fail the whole chunk at insert
+    private Set<String> findExistingEmails(List<String> emails) {
+        Set<String> existingEmails = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            employeeRepository.findExistingEmails(emails.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, emails.size())))
+                    .forEach(email -> existingEmails.add(email.toLowerCase(Locale.ROOT)));
+        }
+        return existingEmails;
+    }
+
+    //cache first, then one IN query per chunk of misses; keys without a row stay mapped to null
+    private Map<Long, Employee> batchGetByIds(List<Long> ids) {
+        Map<Long, Employee> result = new LinkedHashMap<>();
+        if (ids == null) {
+            return result;
+        }
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            if (id == null || result.containsKey(id)) {
+                continue;
+            }
+            Employee cached = employeeCache.getById(id).orElse(null);
+            result.put(id, cached);
+            if (cached == null) {
+                misses.add(id);
+            }
+        }
+        for (int from = 0; from < misses.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            employeeRepository.findAllById(misses.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, misses.size())))
+                    .forEach(employee -> result.put(employee.getId(), cacheLoaded(employee)));
+        }
+        return result;
+    }
+
+    private Map<String, Employee> batchGetByEmails(List<String> emails) {
+        Map<String, Employee> result = new LinkedHashMap<>();
+        if (emails == null) {
+            return result;
+        }
+        List<String> misses = new ArrayList<>();
+        //the email column compares case-insensitively: every spelling the caller sent is answered under its own key,
+        //and only the first spelling of an address goes into the IN clause
+        Map<String, List<String>> requestedKeys = new HashMap<>();
+        for (String email : emails) {
+            if (email == null || result.containsKey(email)) {
+                continue;
+            }
+            Employee cached = employeeCache.getByEmail(email).orElse(null);
+            result.put(email, cached);
+            if (cached == null) {
+                List<String> spellings = requestedKeys.computeIfAbsent(email.toLowerCase(Locale.ROOT), key -> new ArrayList<>());
+                if (spellings.isEmpty()) {
+                    misses.add(email);
+                }
+                spellings.add(email);
+            }
+        }
+        for (int from = 0; from < misses.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            for (Employee employee : employeeRepository.findByEmailIn(
+                    misses.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, misses.size())))) {
+                Employee loaded = cacheLoaded(employee);
+                requestedKeys.getOrDefault(employee.getEmail().toLowerCase(Locale.ROOT), List.of(employee.getEmail()))
+                        .forEach(email -> result.put(email, loaded));
+            }
+        }
+        return result;
+    }
+
+    //one transaction per chunk. A constraint violation is caused by some of its rows, so the chunk is split in halves
+    //and retried until the offending rows stand alone and every other row is still created; other failures (lost
+    //connection, timeout) are not about the rows and fail the whole chunk without retrying
+    private void insertChunk(List<Employee> employees, List<Integer> chunk, BulkEmployeeResult[] results) {
+        List<Employee> toInsert = chunk.stream().map(employees::get).toList();
+        //a failed attempt has already assigned ids and versions, the retry has to insert them as new again
+        toInsert.forEach(employee -> {
+            employee.setId(null);
+            employee.setVersion(null);
+        });
+        try {
+            List<Employee> savedEmployees = employeeBulkWriter.insertChunk(toInsert);
+            for (int i = 0; i < chunk.size(); i++) {
+                Employee savedEmployee = savedEmployees.get(i);
+                results[chunk.get(i)] = BulkEmployeeResult.builder()
+                        .index(chunk.get(i))
+                        .created(true)
+                        .id(savedEmployee.getId())
+                        .email(savedEmployee.getEmail())
+                        .build();
+            }
+        } catch (DataIntegrityViolationException exception) {
+            if (chunk.size() > 1) {
+                int middle = chunk.size() / 2;
+                insertChunk(employees, chunk.subList(0, middle), results);
+                insertChunk(employees, chunk.subList(middle, chunk.size()), results);
+                return;
+            }
+            Integer index = chunk.get(0);
+            Employee employee = employees.get(index);
+            results[index] = failed(index, employee, isDuplicateKey(exception)
+                    ? String.format("Employee with email: %s already exists", employee.getEmail())
+                    : "Employee violates a data constraint");
+        } catch (DataAccessException exception) {
+            log.warn("Bulk insert chunk of {} employees failed: {}", chunk.size(), exception.getMostSpecificCause().getMessage());
+            for (Integer index : chunk) {
+                results[index] = failed(index, employees.get(index), "Employee could not be saved, please retry");
+            }
+        }
+    }
+
+    private static BulkEmployeeResult failed(int index, Employee employee, String message) {
+        return BulkEmployeeResult.builder()
+                .index(index)
+                .created(false)
+                .email(employee == null ? null : employee.getEmail())
+                .message(message)
+                .build();
+    }
+
+    private static boolean isDuplicateKey(DataIntegrityViolationException exception) {
+        if (exception instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && (sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY || SQL_STATE_UNIQUE_VIOLATION.equals(sqlException.getSQLState()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private Employee cache(Employee employee) {
+        employeeCache.put(employee);
+        return employee;
+    }
+
+    private Employee cacheLoaded(Employee employee) {
+        employeeCache.putLoaded(employee);
+        return employee;
+    }
+
+    //shared with ReactiveEmployeeServiceImpl so both stacks hand out the same cursors
+    static EmployeePageResponse toPage(List<Employee> employees, int pageSize) {
+        String nextCursor = null;
+        if (employees.size() > pageSize) {
+            employees = employees.subList(0, pageSize);
+            nextCursor = encodeCursor(employees.get(pageSize - 1).getId());
+        }
+        return EmployeePageResponse.builder()
+                .content(employees.stream().map(EmployeeResponse::from).toList())
+                .size(employees.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static <K> Map<K, EmployeeResponse> toResponses(Map<K, Employee> employees) {
+        Map<K, EmployeeResponse> responses = new LinkedHashMap<>();
+        employees.forEach((key, employee) -> responses.put(key, employee == null ? null : EmployeeResponse.from(employee)));
+        return responses;
+    }
+
+    //'!' is the LIKE escape character of the search queries, so user input cannot inject wildcards
+    private static String likePrefix(String term) {
+        return term.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    private static String encodeCursor(Long employeeId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(employeeId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException(String.format("Cursor: %s is not valid", cursor));
+        }
     }
 
 }
@@ -0,0 +1,216 @@
+package com.michael.test.service.impl;
+
+import com.michael.test.entity.Employee;
+import com.michael.test.exceptions.EmailExistException;
+import com.michael.test.exceptions.EmployeeNotFoundException;
+import com.michael.test.payload.response.BulkEmployeeResponse;
+import com.michael.test.payload.response.BulkEmployeeResult;
+import com.michael.test.payload.response.EmployeePageResponse;
+import com.michael.test.payload.response.MessageResponse;
+import com.michael.test.repository.ReactiveEmployeeRepository;
+import com.michael.test.service.ReactiveEmployeeService;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    private static final int BULK_CHUNK_SIZE = EmployeeServiceImpl.BULK_CHUNK_SIZE;
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        return employeeRepository.insert(employee)
+                .onErrorMap(this::isDuplicateKey,
+                        exception -> new EmailExistException(String.format("Employee with email: %s already exists", employee.getEmail())));
+    }
+
+    // same validation and per-row results as EmployeeServiceImpl.saveEmployees: invalid rows, duplicates within the
+    // request and existing emails are reported without a write, the rest is inserted one multi-row INSERT per chunk
+    @Override
+    public Mono<BulkEmployeeResponse> saveEmployees(List<Employee> employees) {
+        BulkEmployeeResult[] results = new BulkEmployeeResult[employees.size()];
+        List<Integer> candidates = new ArrayList<>(employees.size());
+        Set<String> emailsInRequest = new HashSet<>();
+        for (int index = 0; index < employees.size(); index++) {
+            Employee employee = employees.get(index);
+            if (employee == null || isBlank(employee.getFirstName()) || isBlank(employee.getLastName()) || isBlank(employee.getEmail())) {
+                results[index] = failed(index, employee, "firstName, lastName and email are required");
+            } else if (!emailsInRequest.add(employee.getEmail().toLowerCase(Locale.ROOT))) {
+                results[index] = failed(index, employee, String.format("Employee with email: %s is duplicated in request", employee.getEmail()));
+            } else {
+                candidates.add(index);
+            }
+        }
+        List<String> candidateEmails = candidates.stream().map(index -> employees.get(index).getEmail()).toList();
+        return Flux.fromIterable(chunks(candidateEmails, IN_CLAUSE_CHUNK_SIZE))
+                .concatMap(employeeRepository::findExistingEmails)
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet())
+                .flatMap(existingEmails -> {
+                    List<Integer> newEmployees = new ArrayList<>(candidates.size());
+                    for (Integer index : candidates) {
+                        Employee employee = employees.get(index);
+                        if (existingEmails.contains(employee.getEmail().toLowerCase(Locale.ROOT))) {
+                            results[index] = failed(index, employee, String.format("Employee with email: %s already exists", employee.getEmail()));
+                        } else {
+                            newEmployees.add(index);
+                        }
+                    }
+                    return Flux.fromIterable(chunks(newEmployees, BULK_CHUNK_SIZE))
+                            .concatMap(chunk -> insertChunk(employees, chunk, results))
+                            .then();
+                })
+                .then(Mono.fromSupplier(() -> {
+                    int created = (int) Arrays.stream(results).filter(BulkEmployeeResult::isCreated).count();
+                    return BulkEmployeeResponse.builder()
+                            .created(created)
+                            .failed(results.length - created)
+                            .results(List.of(results))
+                            .build();
+                }));
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployee() {
+        return employeeRepository.findAll();
+    }
+
+    @Override
+    public Mono<EmployeePageResponse> getEmployeePage(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), EmployeeServiceImpl.MAX_PAGE_SIZE);
+        return Mono.fromSupplier(() -> EmployeeServiceImpl.decodeCursor(cursor))
+                .flatMap(afterId -> employeeRepository.findPage(afterId, pageSize + 1).collectList())
+                .map(employees -> EmployeeServiceImpl.toPage(employees, pageSize));
+    }
+
+    @Override
+    public Mono<Employee> getById(Long employeeId) {
+        return employeeRepository.findById(employeeId)
+                .switchIfEmpty(Mono.error(() -> EmployeeNotFoundException.byId(employeeId)));
+    }
+
+    @Override
+    public Mono<Employee> getByEmail(String email) {
+        return employeeRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> EmployeeNotFoundException.byEmail(email)));
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Long employeeId, Employee newEmployee) {
+        return employeeRepository.updateNames(employeeId, newEmployee.getFirstName(), newEmployee.getLastName())
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(EmployeeNotFoundException.byId(employeeId))
+                        : employeeRepository.findById(employeeId));
+    }
+
+    @Override
+    public Mono<MessageResponse> deleteEmployee(Long employeeId) {
+        return employeeRepository.deleteById(employeeId)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(EmployeeNotFoundException.byId(employeeId))
+                        : Mono.just(new MessageResponse(String.format("Employee with id: %s was deleted", employeeId))));
+    }
+
+    // a constraint violation is caused by some rows of the chunk, so it is split in halves and retried until the
+    // offending rows stand alone; other failures are not about the rows and fail the whole chunk
+    private Mono<Void> insertChunk(List<Employee> employees, List<Integer> chunk, BulkEmployeeResult[] results) {
+        return employeeRepository.insertAll(chunk.stream().map(employees::get).toList())
+                .doOnNext(savedEmployees -> {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        Employee savedEmployee = savedEmployees.get(i);
+                        results[chunk.get(i)] = BulkEmployeeResult.builder()
+                                .index(chunk.get(i))
+                                .created(true)
+                                .id(savedEmployee.getId())
+                                .email(savedEmployee.getEmail())
+                                .build();
+                    }
+                })
+                .then()
+                .onErrorResume(this::isDataIntegrityViolation, exception -> {
+                    if (chunk.size() > 1) {
+                        int middle = chunk.size() / 2;
+                        return insertChunk(employees, chunk.subList(0, middle), results)
+                                .then(insertChunk(employees, chunk.subList(middle, chunk.size()), results));
+                    }
+                    Integer index = chunk.get(0);
+                    Employee employee = employees.get(index);
+                    results[index] = failed(index, employee, isDuplicateKey(exception)
+                            ? String.format("Employee with email: %s already exists", employee.getEmail())
+                            : "Employee violates a data constraint");
+                    return Mono.empty();
+                })
+                .onErrorResume(DataAccessException.class, exception -> {
+                    log.warn("Bulk insert chunk of {} employees failed: {}", chunk.size(), exception.getMostSpecificCause().getMessage());
+                    for (Integer index : chunk) {
+                        results[index] = failed(index, employees.get(index), "Employee could not be saved, please retry");
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values, int chunkSize) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += chunkSize) {
+            chunks.add(values.subList(from, Math.min(from + chunkSize, values.size())));
+        }
+        return chunks;
+    }
+
+    private static BulkEmployeeResult failed(int index, Employee employee, String message) {
+        return BulkEmployeeResult.builder()
+                .index(index)
+                .created(false)
+                .email(employee == null ? null : employee.getEmail())
+                .message(message)
+                .build();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private boolean isDataIntegrityViolation(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof R2dbcDataIntegrityViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isDuplicateKey(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DuplicateKeyException) {
+                return true;
+            }
+            if (cause instanceof R2dbcDataIntegrityViolationException violation && violation.getErrorCode() == MYSQL_DUPLICATE_ENTRY) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+-- schema for the reactive profile, where Hibernate is not running to create it (mirrors the Employee mapping)
+create table if not exists employees (
+    id bigint not null,
+    email varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    first_name_key varchar(4),
+    last_name_key varchar(4),
+    version bigint not null,
+    primary key (id),
+    constraint uk_employees_email unique (email),
+    index idx_employees_first_name_last_name (first_name, last_name),
+    index idx_employees_last_name_first_name (last_name, first_name),
+    index idx_employees_first_name_key (first_name_key),
+    index idx_employees_last_name_key (last_name_key)
+);
+create table if not exists employees_seq (
+    next_val bigint
+);
+insert into employees_seq (next_val) select 1 from dual where not exists (select * from employees_seq);
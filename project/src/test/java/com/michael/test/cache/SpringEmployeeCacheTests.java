@@ -0,0 +1,145 @@
+package com.michael.test.cache;
+
+import com.michael.test.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpringEmployeeCacheTests {
+
+    private SpringEmployeeCache employeeCache;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employeeCache = new SpringEmployeeCache(new ConcurrentMapCacheManager(
+                SpringEmployeeCache.EMPLOYEES, SpringEmployeeCache.EMPLOYEE_IDS_BY_EMAIL));
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Michael")
+                .lastName("Royf")
+                .email("michael@gmail.com")
+                .build();
+    }
+
+    @DisplayName("JUnit test for cache put method")
+    @Test
+    public void givenCachedEmployee_whenGetByIdOrEmail_thenReturnEmployee() {
+        //given - precondition or setup
+        employeeCache.put(employee);
+        // when -action or the behavior we are going to test
+        //then - verify the output
+        assertThat(employeeCache.getById(1L)).contains(employee);
+        assertThat(employeeCache.getByEmail("michael@gmail.com")).contains(employee);
+    }
+
+    @DisplayName("JUnit test for cache evict method")
+    @Test
+    public void givenEvictedEmployee_whenGetByIdOrEmail_thenReturnEmpty() {
+        //given - precondition or setup
+        employeeCache.put(employee);
+        // when -action or the behavior we are going to test
+        employeeCache.evict(1L);
+        //then - verify the output
+        assertThat(employeeCache.getById(1L)).isEmpty();
+        assertThat(employeeCache.getByEmail("michael@gmail.com")).isEmpty();
+    }
+
+    @DisplayName("JUnit test for cache lookup of unknown employee")
+    @Test
+    public void givenEmptyCache_whenGetByIdOrEmail_thenReturnEmpty() {
+        //then - verify the output
+        assertThat(employeeCache.getById(1L)).isEmpty();
+        assertThat(employeeCache.getByEmail("michael@gmail.com")).isEmpty();
+    }
+
+    @DisplayName("JUnit test for cache put of a loaded employee")
+    @Test
+    public void givenEmptyCache_whenPutLoaded_thenReturnEmployee() {
+        //given - precondition or setup
+        // when -action or the behavior we are going to test
+        employeeCache.putLoaded(employee);
+        //then - verify the output
+        assertThat(employeeCache.getById(1L)).contains(employee);
+        assertThat(employeeCache.getByEmail("michael@gmail.com")).contains(employee);
+    }
+
+    @DisplayName("JUnit test for a reader putting a row it loaded before a writer committed a newer one")
+    @Test
+    public void givenWriterCachedNewerEmployee_whenPutLoadedOlder_thenKeepNewer() {
+        //given - precondition or setup
+        Employee renamed = Employee.builder()
+                .id(1L)
+                .firstName("Mike")
+                .lastName("Royf")
+                .email("michael@gmail.com")
+                .version(1L)
+                .build();
+        employeeCache.put(renamed);
+        // when -action or the behavior we are going to test
+        employeeCache.putLoaded(employee);
+        //then - verify the output
+        assertThat(employeeCache.getById(1L)).contains(renamed);
+    }
+
+    @DisplayName("JUnit test for a reader putting a row it loaded before a writer deleted it")
+    @Test
+    public void givenEvictedEmployee_whenPutLoaded_thenStayEvicted() {
+        //given - precondition or setup
+        employeeCache.put(employee);
+        employeeCache.evict(1L);
+        // when -action or the behavior we are going to test
+        employeeCache.putLoaded(employee);
+        //then - verify the output
+        assertThat(employeeCache.getById(1L)).isEmpty();
+        assertThat(employeeCache.getByEmail("michael@gmail.com")).isEmpty();
+    }
+
+    @DisplayName("JUnit test for cache writes inside a transaction")
+    @Test
+    public void givenTransaction_whenPutAndEvict_thenApplyOnlyAfterCommit() {
+        //given - precondition or setup
+        employeeCache.put(employee);
+        Employee renamed = Employee.builder()
+                .id(1L)
+                .firstName("Mike")
+                .lastName("Royf")
+                .email("michael@gmail.com")
+                .build();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when -action or the behavior we are going to test
+            employeeCache.evict(1L);
+            employeeCache.put(renamed);
+            //then - verify the output
+            assertThat(employeeCache.getById(1L)).contains(employee);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(employeeCache.getById(1L)).contains(renamed);
+    }
+
+    @DisplayName("JUnit test for cache writes of a rolled back transaction")
+    @Test
+    public void givenRolledBackTransaction_whenPut_thenCacheUnchanged() {
+        //given - precondition or setup
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when -action or the behavior we are going to test
+            employeeCache.put(employee);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        //then - verify the output
+        assertThat(employeeCache.getById(1L)).isEmpty();
+        assertThat(employeeCache.getByEmail("michael@gmail.com")).isEmpty();
+    }
+}
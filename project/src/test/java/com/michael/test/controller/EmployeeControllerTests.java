@@ -1,29 +1,68 @@
 package com.michael.test.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.michael.test.entity.Employee;
+import com.michael.test.entity.EmployeeChange;
+import com.michael.test.exceptions.ChangesExpiredException;
+import com.michael.test.exceptions.EmailExistException;
 import com.michael.test.exceptions.EmployeeNotFoundException;
+import com.michael.test.exceptions.EmployeeVersionMismatchException;
+import com.michael.test.exceptions.GlobalExceptionHandling;
+import com.michael.test.exceptions.InvalidCursorException;
+import com.michael.test.exceptions.InvalidSearchQueryException;
+import com.michael.test.payload.request.BatchGetRequest;
+import com.michael.test.payload.request.BulkDeleteRequest;
+import com.michael.test.payload.request.EmployeePatchRequest;
+import com.michael.test.payload.request.EmployeeRequest;
+import com.michael.test.payload.response.BatchGetResponse;
+import com.michael.test.payload.response.BulkDeleteResponse;
+import com.michael.test.payload.response.BulkEmployeeResponse;
+import com.michael.test.payload.response.BulkEmployeeResult;
+import com.michael.test.payload.response.EmployeeChangeResponse;
+import com.michael.test.payload.response.EmployeeChangesResponse;
+import com.michael.test.payload.response.EmployeePageResponse;
+import com.michael.test.payload.response.EmployeeResponse;
 import com.michael.test.payload.response.MessageResponse;
 import com.michael.test.service.EmployeeService;
+import com.michael.test.service.impl.EmployeeChangeFeed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 
@@ -34,8 +73,12 @@ public class EmployeeControllerTests {
     private MockMvc mockMvc;
     @MockBean
     private EmployeeService employeeService;
+    @MockBean
+    private EmployeeChangeFeed employeeChangeFeed;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     private Employee employee;
     private Long employeeId = 1L;
@@ -74,6 +117,78 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
     }
 
+    @DisplayName("JUnit test for create employee REST API with existing email")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenReturnConflict() throws Exception {
+        //given - precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willThrow(new EmailExistException(String.format("Employee with email: %s already exists", email)));
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(post("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+        //then - verify the output
+        response
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.httpStatusCode", CoreMatchers.is(409)));
+    }
+
+    @DisplayName("JUnit test for bulk create employees REST API")
+    @Test
+    public void givenEmployeeList_whenCreateEmployees_thenReturnPerRowResult() throws Exception {
+        //given - precondition or setup
+        BulkEmployeeResponse bulkResponse = BulkEmployeeResponse.builder()
+                .created(1)
+                .failed(0)
+                .results(List.of(BulkEmployeeResult.builder().index(0).created(true).id(employeeId).email(email).build()))
+                .build();
+        given(employeeService.saveEmployees(anyList())).willReturn(bulkResponse);
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(post("/api/v1/employee/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employee))));
+        //then - verify the output
+        response
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].email", CoreMatchers.is(email)));
+    }
+
+    @DisplayName("JUnit test for bulk create employees REST API with NDJSON body")
+    @Test
+    public void givenNdjsonBody_whenCreateEmployees_thenReadEveryLine() throws Exception {
+        //given - precondition or setup
+        given(employeeService.saveEmployees(anyList())).willAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            return BulkEmployeeResponse.builder().created(employees.size()).results(List.of()).build();
+        });
+        String body = objectMapper.writeValueAsString(employee) + "\n" + objectMapper.writeValueAsString(employee) + "\n";
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(post("/api/v1/employee/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body));
+        //then - verify the output
+        response
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created", CoreMatchers.is(2)));
+    }
+
+    @DisplayName("JUnit test for bulk create employees REST API with malformed NDJSON body")
+    @Test
+    public void givenMalformedNdjsonBody_whenCreateEmployees_thenReturnBadRequest() throws Exception {
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(post("/api/v1/employee/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"firstName\":"));
+        //then - verify the output
+        response
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     @DisplayName("JUnit test for get all employees REST API")
     @Test
     public void givenEmployeeList_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
@@ -98,6 +213,126 @@ public class EmployeeControllerTests {
     }
 
 
+    @DisplayName("JUnit test for get all employees REST API with an unchanged ETag")
+    @Test
+    public void givenMatchingIfNoneMatch_whenGetAllEmployees_thenReturnNotModified() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getEmployeesFingerprint()).willReturn("2-2-0");
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(get("/api/v1/employee")
+                .header("If-None-Match", "W/\"2-2-0\""));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "W/\"2-2-0\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        verify(employeeService, never()).getAllEmployee();
+    }
+
+
+    @DisplayName("JUnit test for get employee page REST API")
+    @Test
+    public void givenCursorAndSize_whenGetEmployeePage_thenReturnPage() throws Exception {
+        //given - precondition or setup
+        EmployeePageResponse page = EmployeePageResponse.builder()
+                .content(List.of(EmployeeResponse.from(employee)))
+                .size(1)
+                .nextCursor("MQ")
+                .build();
+        given(employeeService.getEmployeePage("MA", 1)).willReturn(page);
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(get("/api/v1/employee/page")
+                .param("cursor", "MA")
+                .param("size", "1"));
+        //then - verify the output
+        response
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].email", CoreMatchers.is(email)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", CoreMatchers.is("MQ")));
+    }
+
+    @DisplayName("JUnit test for get employee page REST API(negative scenario)")
+    @Test
+    public void givenInvalidCursor_whenGetEmployeePage_thenReturnBadRequest() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getEmployeePage("bad", 50))
+                .willThrow(new InvalidCursorException("Cursor: bad is not valid"));
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(get("/api/v1/employee/page").param("cursor", "bad"));
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+
+    @DisplayName("JUnit test for search employees REST API")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenReturnPage() throws Exception {
+        //given - precondition or setup
+        EmployeePageResponse page = EmployeePageResponse.builder()
+                .content(List.of(EmployeeResponse.from(employee)))
+                .size(1)
+                .build();
+        given(employeeService.searchEmployees("Micheal", null, 20)).willReturn(page);
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(get("/api/v1/employee/search")
+                .param("q", "Micheal")
+                .param("size", "20"));
+        //then - verify the output
+        response
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].email", CoreMatchers.is(email)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].firstNameKey").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @DisplayName("JUnit test for search employees REST API(negative scenario)")
+    @Test
+    public void givenTooShortQuery_whenSearchEmployees_thenReturnBadRequest() throws Exception {
+        //given - precondition or setup
+        given(employeeService.searchEmployees("m", null, 50))
+                .willThrow(new InvalidSearchQueryException("Search query: m must have at least 2 characters"));
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(get("/api/v1/employee/search").param("q", "m"));
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", CoreMatchers.is("Search query: m must have at least 2 characters")));
+    }
+
+    @DisplayName("JUnit test for export employees REST API")
+    @Test
+    public void givenEmployees_whenExportEmployees_thenStreamNdjson() throws Exception {
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Anna")
+                .lastName("Karenina")
+                .email("anna@gmail.com")
+                .build();
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(employee);
+            consumer.accept(employee1);
+            return null;
+        }).given(employeeService).exportEmployees(any());
+        // when -action or the behavior we are going to test
+        MvcResult result = mockMvc.perform(get("/api/v1/employee/export"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(result));
+        //then - verify the output
+        response
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        objectMapper.writeValueAsString(employee) + "\n" + objectMapper.writeValueAsString(employee1) + "\n"));
+    }
+
+
     @DisplayName("JUnit test for get employee by id REST API(positive scenario)")
     @Test
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
@@ -114,6 +349,76 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
     }
 
+    @DisplayName("JUnit test for get employee by id REST API with ETags")
+    @Test
+    public void givenEmployeeVersion_whenGetEmployeeById_thenReturnETagAndNotModified() throws Exception {
+        //given - precondition or setup
+        employee.setVersion(3L);
+        given(employeeService.getById(employeeId)).willReturn(employee);
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(get("/api/v1/employee/id/{employeeId}", employeeId));
+        ResultActions revalidated = mockMvc.perform(get("/api/v1/employee/id/{employeeId}", employeeId)
+                .header("If-None-Match", "\"3\""));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"3\""))
+                .andExpect(MockMvcResultMatchers.header().string("Cache-Control", "no-cache"))
+                .andExpect(MockMvcResultMatchers.header().string("Vary", "Accept"));
+        revalidated.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string("Vary", "Accept"))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @DisplayName("JUnit test for get employee by email REST API with ETags")
+    @Test
+    public void givenEmployeeVersion_whenGetEmployeeByEmail_thenReturnETagWithId() throws Exception {
+        //given - precondition or setup
+        employee.setVersion(3L);
+        given(employeeService.getByEmail(email)).willReturn(employee);
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(get("/api/v1/employee/email/{email}", email)
+                .header("If-None-Match", "\"1-2\""));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1-3\""))
+                .andExpect(MockMvcResultMatchers.header().string("Vary", "Accept"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(email)));
+    }
+
+
+    @DisplayName("JUnit test for get employee by id REST API in CBOR")
+    @Test
+    public void givenCborAccept_whenGetEmployeeById_thenReturnCbor() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getById(employeeId)).willReturn(employee);
+        // when -action or the behavior we are going to test
+        MvcResult result = mockMvc.perform(get("/api/v1/employee/id/{employeeId}", employeeId)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        //then - verify the output
+        assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+        EmployeeResponse body = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), EmployeeResponse.class);
+        assertThat(body).isEqualTo(EmployeeResponse.from(employee));
+    }
+
+    @DisplayName("JUnit test for create employee REST API with a CBOR body")
+    @Test
+    public void givenCborBody_whenCreateEmployee_thenReturnSavedEmployee() throws Exception {
+        //given - precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willAnswer((invocation) -> invocation.getArgument(0));
+        byte[] body = new CBORMapper().writeValueAsBytes(new EmployeeRequest(first_name, last_Name, email));
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(post("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(body));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(email)));
+    }
+
+
     @DisplayName("JUnit test for get Employee by id REST API(negative scenario)")
     @Test
     public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnError() throws Exception {
@@ -130,6 +435,68 @@ public class EmployeeControllerTests {
     }
 
 
+    @DisplayName("JUnit test for error counter of the exception handler")
+    @Test
+    public void givenInvalidEmployeeId_whenGetEmployeeById_thenCountErrorByExceptionAndStatus() throws Exception {
+        //given - precondition or setup
+        Long invalidEmployeeId = 999L;
+        given(employeeService.getById(invalidEmployeeId))
+                .willThrow(new EmployeeNotFoundException(String.format("Employee with id: %s not found", invalidEmployeeId)));
+        double before = errorCount("EmployeeNotFoundException", "404");
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(get("/api/v1/employee/id/{employeeId}", invalidEmployeeId)
+                .contentType(MediaType.APPLICATION_JSON));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+        assertThat(errorCount("EmployeeNotFoundException", "404")).isEqualTo(before + 1);
+    }
+
+
+    @DisplayName("JUnit test for batch get REST API")
+    @Test
+    public void givenIdsAndEmails_whenBatchGet_thenReturnMapsWithMissingKeys() throws Exception {
+        //given - precondition or setup
+        Map<Long, EmployeeResponse> byId = new LinkedHashMap<>();
+        byId.put(employeeId, EmployeeResponse.from(employee));
+        byId.put(2L, null);
+        Map<String, EmployeeResponse> byEmail = new LinkedHashMap<>();
+        byEmail.put(email, EmployeeResponse.from(employee));
+        given(employeeService.batchGet(any(BatchGetRequest.class)))
+                .willReturn(new BatchGetResponse(byId, byEmail));
+        BatchGetRequest request = BatchGetRequest.builder()
+                .ids(List.of(employeeId, 2L))
+                .emails(List.of(email))
+                .build();
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(post("/api/v1/employee/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byId.1.email", CoreMatchers.is(email)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byId.2").value(CoreMatchers.nullValue()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byEmail['" + email + "'].id", CoreMatchers.is(1)));
+    }
+
+    @DisplayName("JUnit test for batch get REST API with too many ids")
+    @Test
+    public void givenTooManyIds_whenBatchGet_thenReturnBadRequest() throws Exception {
+        //given - precondition or setup
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= BatchGetRequest.MAX_KEYS; id++) {
+            ids.add(id);
+        }
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(post("/api/v1/employee/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BatchGetRequest.builder().ids(ids).build())));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verifyNoInteractions(employeeService);
+    }
+
+
     @DisplayName("JUnit test for update employee REST API(positive scenario)")
     @Test
     public void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdateEmployeeObject() throws Exception {
@@ -143,7 +510,7 @@ public class EmployeeControllerTests {
 
 
         //   given(employeeService.getById(employeeId)).willReturn(employee);
-        given(employeeService.updateEmployee(employeeId, newEmployee)).willReturn(newEmployee);
+        given(employeeService.updateEmployee(eq(employeeId), any(Employee.class))).willReturn(newEmployee);
 
         // when - action or the behavior we are going to test
         ResultActions response = mockMvc.perform(put("/api/v1/employee/id/{employeeId}", employeeId)
@@ -152,7 +519,57 @@ public class EmployeeControllerTests {
         );
         //then - verify the output
         response.andDo(print())
-                .andExpect(MockMvcResultMatchers.status().isOk());
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName", CoreMatchers.is(newEmployee.getFirstName())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lastName", CoreMatchers.is(newEmployee.getLastName())));
+    }
+
+
+    @DisplayName("JUnit test for patch employee REST API")
+    @Test
+    public void givenPatchWithIfMatch_whenPatchEmployee_thenReturnEmployeeWithETag() throws Exception {
+        //given - precondition or setup
+        EmployeePatchRequest patch = EmployeePatchRequest.builder().lastName("Smith").build();
+        employee.setLastName("Smith");
+        employee.setVersion(4L);
+        given(employeeService.patchEmployee(any(Long.class), any(EmployeePatchRequest.class), any(Long.class))).willReturn(employee);
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(patch("/api/v1/employee/id/{employeeId}", employeeId)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"4\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lastName", CoreMatchers.is("Smith")));
+        verify(employeeService).patchEmployee(eq(employeeId), any(EmployeePatchRequest.class), eq(3L));
+    }
+
+    @DisplayName("JUnit test for patch employee REST API with a stale ETag")
+    @Test
+    public void givenStaleIfMatch_whenPatchEmployee_thenReturnPreconditionFailed() throws Exception {
+        //given - precondition or setup
+        given(employeeService.patchEmployee(any(Long.class), any(EmployeePatchRequest.class), any(Long.class)))
+                .willThrow(new EmployeeVersionMismatchException(String.format("Employee with id: %s is no longer at version: %s", employeeId, 3)));
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(patch("/api/v1/employee/id/{employeeId}", employeeId)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(EmployeePatchRequest.builder().firstName("Mike").build())));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    @DisplayName("JUnit test for patch employee REST API without fields")
+    @Test
+    public void givenEmptyPatch_whenPatchEmployee_thenReturnBadRequest() throws Exception {
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(patch("/api/v1/employee/id/{employeeId}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verifyNoInteractions(employeeService);
     }
 
 
@@ -207,7 +624,84 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.message", CoreMatchers.is(message.getMessage())));
     }
 
-}
+    @DisplayName("JUnit test for bulk delete employees REST API")
+    @Test
+    public void givenIds_whenBulkDelete_thenReturnDeletedCount() throws Exception {
+        //given - precondition or setup
+        given(employeeService.deleteEmployees(List.of(1L, 2L)))
+                .willReturn(BulkDeleteResponse.builder().requested(2).deleted(1).build());
+        // when - action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(post("/api/v1/employee/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BulkDeleteRequest.builder().ids(List.of(1L, 2L)).build())));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requested", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deleted", CoreMatchers.is(1)));
+    }
+
+    @DisplayName("JUnit test for bulk delete employees REST API without ids")
+    @Test
+    public void givenNoIds_whenBulkDelete_thenReturnBadRequest() throws Exception {
+        // when - action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(post("/api/v1/employee/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BulkDeleteRequest.builder().ids(List.of()).build())));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verifyNoInteractions(employeeService);
+    }
+
+    @DisplayName("JUnit test for long poll changes REST API")
+    @Test
+    public void givenPublishedChanges_whenGetChanges_thenReturnChangesAndNextPosition() throws Exception {
+        //given - precondition or setup
+        EmployeeChangeResponse change = new EmployeeChangeResponse(8L, employeeId, EmployeeChange.Type.UPDATED,
+                first_name, last_Name, email, 2L, Instant.parse("2024-04-01T10:00:00Z"));
+        given(employeeChangeFeed.poll(7L, 100, 25))
+                .willReturn(CompletableFuture.completedFuture(EmployeeChangesResponse.builder().changes(List.of(change)).next(8L).build()));
+        // when - action or the behavior we are going to test
+        MvcResult result = mockMvc.perform(get("/api/v1/employee/changes").param("since", "7"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(result));
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.next", CoreMatchers.is(8)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].position", CoreMatchers.is(8)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].type", CoreMatchers.is("UPDATED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].version", CoreMatchers.is(2)));
+    }
 
+    @DisplayName("JUnit test for long poll changes REST API behind the retention")
+    @Test
+    public void givenPurgedChanges_whenGetChanges_thenReturnGone() throws Exception {
+        //given - precondition or setup
+        given(employeeChangeFeed.poll(1L, 100, 0))
+                .willReturn(CompletableFuture.failedFuture(new ChangesExpiredException("Changes after position: 1 are no longer retained")));
+        // when - action or the behavior we are going to test
+        MvcResult result = mockMvc.perform(get("/api/v1/employee/changes").param("since", "1").param("wait", "0"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(result));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isGone());
+    }
+
+    private double errorCount(String exception, String status) {
+        Counter counter = meterRegistry.find(GlobalExceptionHandling.ERRORS_METRIC)
+                .tags("exception", exception, "status", status)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
 
+    @TestConfiguration
+    static class MetricsTestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
 
+}
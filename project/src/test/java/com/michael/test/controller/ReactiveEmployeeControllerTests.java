@@ -0,0 +1,312 @@
+package com.michael.test.controller;
+
+import com.michael.test.entity.Employee;
+import com.michael.test.exceptions.EmailExistException;
+import com.michael.test.exceptions.EmployeeNotFoundException;
+import com.michael.test.exceptions.InvalidCursorException;
+import com.michael.test.payload.request.EmployeeRequest;
+import com.michael.test.payload.response.BulkEmployeeResponse;
+import com.michael.test.payload.response.BulkEmployeeResult;
+import com.michael.test.payload.response.EmployeePageResponse;
+import com.michael.test.payload.response.EmployeeResponse;
+import com.michael.test.payload.response.MessageResponse;
+import com.michael.test.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@WebFluxTest(ReactiveEmployeeController.class)
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTests {
+    @Autowired
+    private WebTestClient webTestClient;
+    @MockBean
+    private ReactiveEmployeeService employeeService;
+
+    private Employee employee;
+    private Long employeeId = 1L;
+    private String first_name = "Michael";
+    private String last_Name = "Royf";
+    private String email = "michael@gmail.com";
+
+    @BeforeEach
+    public void setup() {
+        employee = Employee.builder()
+                .id(employeeId)
+                .firstName(first_name)
+                .lastName(last_Name)
+                .email(email)
+                .build();
+    }
+
+    @DisplayName("JUnit test for create employee reactive REST API")
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+        //given - precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class))).willReturn(Mono.just(employee));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+        //then - verify the output
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(employeeId)
+                .jsonPath("$.email").isEqualTo(email);
+    }
+
+    @DisplayName("JUnit test for create employee reactive REST API with an existing email")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenReturn409() {
+        //given - precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willReturn(Mono.error(new EmailExistException("Employee with email: " + email + " already exists")));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+        //then - verify the output
+        response.expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Employee with email: " + email + " already exists");
+    }
+
+    @DisplayName("JUnit test for get all employees reactive REST API as NDJSON")
+    @Test
+    public void givenListOfEmployees_whenGetAllEmployeesAsNdjson_thenStreamOneEmployeePerLine() {
+        //given - precondition or setup
+        Employee other = Employee.builder().id(2L).firstName("Dana").lastName("Levi").email("dana@gmail.com").build();
+        given(employeeService.getAllEmployee()).willReturn(Flux.just(employee, other));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/employee")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class)
+                .hasSize(2);
+    }
+
+    @DisplayName("JUnit test for get all employees reactive REST API as a JSON array")
+    @Test
+    public void givenListOfEmployees_whenGetAllEmployees_thenReturnJsonArray() {
+        //given - precondition or setup
+        given(employeeService.getAllEmployee()).willReturn(Flux.just(employee));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/employee")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].email").isEqualTo(email);
+    }
+
+    @DisplayName("JUnit test for bulk create employees reactive REST API with a JSON array")
+    @Test
+    public void givenJsonArray_whenCreateEmployees_thenReturnBulkResults() {
+        //given - precondition or setup
+        given(employeeService.saveEmployees(anyList())).willReturn(Mono.just(BulkEmployeeResponse.builder()
+                .created(1)
+                .failed(0)
+                .results(List.of(BulkEmployeeResult.builder().index(0).created(true).id(employeeId).email(email).build()))
+                .build()));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/v1/employee/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(new EmployeeRequest(first_name, last_Name, email)))
+                .exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(1)
+                .jsonPath("$.results[0].id").isEqualTo(employeeId);
+        verify(employeeService).saveEmployees(argThat(employees -> employees.size() == 1 && email.equals(employees.get(0).getEmail())));
+    }
+
+    @DisplayName("JUnit test for bulk create employees reactive REST API with NDJSON")
+    @Test
+    public void givenNdjson_whenCreateEmployees_thenPassEveryLine() {
+        //given - precondition or setup
+        given(employeeService.saveEmployees(anyList())).willReturn(Mono.just(BulkEmployeeResponse.builder()
+                .created(2)
+                .failed(0)
+                .results(List.of())
+                .build()));
+        String body = "{\"firstName\":\"Michael\",\"lastName\":\"Royf\",\"email\":\"michael@gmail.com\"}\n" +
+                "{\"firstName\":\"Dana\",\"lastName\":\"Levi\",\"email\":\"dana@gmail.com\"}\n";
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/v1/employee/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(2);
+        verify(employeeService).saveEmployees(argThat(employees -> employees.size() == 2
+                && "dana@gmail.com".equals(employees.get(1).getEmail())));
+    }
+
+    @DisplayName("JUnit test for employee page reactive REST API")
+    @Test
+    public void givenCursor_whenGetEmployeePage_thenReturnPage() {
+        //given - precondition or setup
+        given(employeeService.getEmployeePage("MQ", 10)).willReturn(Mono.just(EmployeePageResponse.builder()
+                .content(List.of(EmployeeResponse.from(employee)))
+                .size(1)
+                .nextCursor("Mg")
+                .build()));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/employee/page?cursor=MQ&size=10").exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].email").isEqualTo(email)
+                .jsonPath("$.nextCursor").isEqualTo("Mg");
+    }
+
+    @DisplayName("JUnit test for employee page reactive REST API with an invalid cursor")
+    @Test
+    public void givenInvalidCursor_whenGetEmployeePage_thenReturn400() {
+        //given - precondition or setup
+        given(employeeService.getEmployeePage("bad", 50))
+                .willReturn(Mono.error(new InvalidCursorException("Cursor: bad is not valid")));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/employee/page?cursor=bad").exchange();
+        //then - verify the output
+        response.expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Cursor: bad is not valid");
+    }
+
+    @DisplayName("JUnit test for export employees reactive REST API")
+    @Test
+    public void givenListOfEmployees_whenExportEmployees_thenStreamNdjson() {
+        //given - precondition or setup
+        Employee other = Employee.builder().id(2L).firstName("Dana").lastName("Levi").email("dana@gmail.com").build();
+        given(employeeService.getAllEmployee()).willReturn(Flux.just(employee, other));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/employee/export").exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(EmployeeResponse.class)
+                .contains(EmployeeResponse.from(employee), EmployeeResponse.from(other));
+    }
+
+    @DisplayName("JUnit test for get employee by id reactive REST API with a matching ETag")
+    @Test
+    public void givenMatchingETag_whenGetEmployeeById_thenReturn304() {
+        //given - precondition or setup
+        employee.setVersion(3L);
+        given(employeeService.getById(employeeId)).willReturn(Mono.just(employee));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec tagged = webTestClient.get().uri("/api/v1/employee/id/{id}", employeeId).exchange();
+        WebTestClient.ResponseSpec revalidated = webTestClient.get().uri("/api/v1/employee/id/{id}", employeeId)
+                .ifNoneMatch("\"3\"")
+                .exchange();
+        //then - verify the output
+        tagged.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        revalidated.expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @DisplayName("JUnit test for get employee by email reactive REST API ETag")
+    @Test
+    public void givenEmployeeEmail_whenGetEmployeeByEmail_thenTagWithIdAndVersion() {
+        //given - precondition or setup
+        employee.setVersion(3L);
+        given(employeeService.getByEmail(email)).willReturn(Mono.just(employee));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/employee/email/{email}", email).exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-3\"")
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(email);
+    }
+
+    @DisplayName("JUnit test for get employee by id reactive REST API")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployee() {
+        //given - precondition or setup
+        given(employeeService.getById(employeeId)).willReturn(Mono.just(employee));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/employee/id/{id}", employeeId).exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(first_name);
+    }
+
+    @DisplayName("JUnit test for get employee by id reactive REST API (negative scenario)")
+    @Test
+    public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturn404() {
+        //given - precondition or setup
+        given(employeeService.getById(employeeId))
+                .willReturn(Mono.error(new EmployeeNotFoundException("Employee with id: " + employeeId + " not found")));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/employee/id/{id}", employeeId).exchange();
+        //then - verify the output
+        response.expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Employee with id: " + employeeId + " not found");
+    }
+
+    @DisplayName("JUnit test for update employee reactive REST API")
+    @Test
+    public void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdatedEmployee() {
+        //given - precondition or setup
+        Employee updated = Employee.builder().id(employeeId).firstName("Ram").lastName("Levi").email(email).build();
+        given(employeeService.updateEmployee(eq(employeeId), any(Employee.class))).willReturn(Mono.just(updated));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/v1/employee/id/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updated)
+                .exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Ram")
+                .jsonPath("$.lastName").isEqualTo("Levi");
+    }
+
+    @DisplayName("JUnit test for delete employee reactive REST API")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenReturn200() {
+        //given - precondition or setup
+        given(employeeService.deleteEmployee(employeeId))
+                .willReturn(Mono.just(new MessageResponse("Employee with id: " + employeeId + " was deleted")));
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.delete().uri("/api/v1/employee/id/{id}", employeeId).exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Employee with id: " + employeeId + " was deleted");
+    }
+}
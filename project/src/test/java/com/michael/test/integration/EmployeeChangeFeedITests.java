@@ -0,0 +1,183 @@
+package com.michael.test.integration;
+
+import com.michael.test.entity.Employee;
+import com.michael.test.entity.EmployeeChange;
+import com.michael.test.exceptions.ChangesExpiredException;
+import com.michael.test.payload.response.EmployeeChangeResponse;
+import com.michael.test.payload.response.EmployeeChangesResponse;
+import com.michael.test.repository.EmployeeChangeRepository;
+import com.michael.test.service.EmployeeService;
+import com.michael.test.service.impl.EmployeeChangeFeed;
+import com.michael.test.service.impl.EmployeeChangeRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+//the outbox, relay and feed on an in-memory H2; the scheduled relay only runs once at startup, the tests call it.
+//The feed follows the published head on its own schedule
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "employee.changes.relay.interval=PT1H",
+        "employee.changes.purge-interval=PT1H",
+        "employee.changes.feed.refresh-interval=PT0.1S",
+        "employee.changes.retention=1d"
+})
+public class EmployeeChangeFeedITests {
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeChangeRelay employeeChangeRelay;
+    @Autowired
+    private EmployeeChangeFeed employeeChangeFeed;
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private long since;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("delete from employee_changes");
+        jdbcTemplate.update("delete from employees");
+        //positions keep counting across tests, each one follows the feed from where the last one stopped
+        since = jdbcTemplate.queryForObject("select coalesce(max(last_position), 0) from employee_change_feed", Long.class);
+    }
+
+    @DisplayName("JUnit test for writes recorded in the outbox and published in commit order")
+    @Test
+    public void givenCreateUpdateDelete_whenRelay_thenFeedReturnsThemInOrder() {
+        //given - precondition or setup
+        Employee saved = employeeService.saveEmployee(employee("michael@gmail.com"));
+        Employee renamed = employee("michael@gmail.com");
+        renamed.setFirstName("Mike");
+        employeeService.updateEmployee(saved.getId(), renamed);
+        employeeService.deleteEmployee(saved.getId());
+        assertThat(employeeService.getChanges(since, 100).getChanges()).isEmpty();
+        // when -action or the behavior we are going to test
+        employeeChangeRelay.relay();
+        EmployeeChangesResponse response = employeeService.getChanges(since, 100);
+        //then - verify the output
+        assertThat(response.getChanges()).extracting(EmployeeChangeResponse::position)
+                .containsExactly(since + 1, since + 2, since + 3);
+        assertThat(response.getChanges()).extracting(EmployeeChangeResponse::type)
+                .containsExactly(EmployeeChange.Type.CREATED, EmployeeChange.Type.UPDATED, EmployeeChange.Type.DELETED);
+        assertThat(response.getChanges()).extracting(EmployeeChangeResponse::firstName)
+                .containsExactly("Michael", "Mike", "Mike");
+        assertThat(response.getChanges()).extracting(EmployeeChangeResponse::employeeId).containsOnly(saved.getId());
+        assertThat(response.getNext()).isEqualTo(since + 3);
+    }
+
+    @DisplayName("JUnit test for bulk writes and deletes recorded with one statement per chunk")
+    @Test
+    public void givenBulkSaveAndDelete_whenRelay_thenFeedReturnsEveryRow() {
+        //given - precondition or setup
+        employeeService.saveEmployees(List.of(employee("anna@gmail.com"), employee("boris@gmail.com")));
+        List<Long> ids = jdbcTemplate.queryForList("select id from employees", Long.class);
+        employeeService.deleteEmployees(ids);
+        // when -action or the behavior we are going to test
+        employeeChangeRelay.relay();
+        EmployeeChangesResponse response = employeeService.getChanges(since, 100);
+        //then - verify the output
+        assertThat(response.getChanges()).extracting(EmployeeChangeResponse::type)
+                .containsExactly(EmployeeChange.Type.CREATED, EmployeeChange.Type.CREATED, EmployeeChange.Type.DELETED, EmployeeChange.Type.DELETED);
+        assertThat(response.getChanges()).extracting(EmployeeChangeResponse::email)
+                .containsExactly("anna@gmail.com", "boris@gmail.com", "anna@gmail.com", "boris@gmail.com");
+    }
+
+    @DisplayName("JUnit test for a long poll answered when the relay publishes")
+    @Test
+    public void givenWaitingPoll_whenRelayPublishes_thenPollCompletes() throws Exception {
+        //given - precondition or setup
+        CompletableFuture<EmployeeChangesResponse> poll = employeeChangeFeed.poll(since, 100, 30);
+        employeeService.saveEmployee(employee("anna@gmail.com"));
+        assertThat(poll).isNotDone();
+        // when -action or the behavior we are going to test
+        employeeChangeRelay.relay();
+        EmployeeChangesResponse response = poll.get(5, TimeUnit.SECONDS);
+        //then - verify the output
+        assertThat(response.getChanges()).extracting(EmployeeChangeResponse::email).containsExactly("anna@gmail.com");
+    }
+
+    @DisplayName("JUnit test for a long poll on a node that does not run the relay")
+    @Test
+    public void givenChangePublishedByAnotherNode_whenFeedRefreshes_thenPollCompletes() throws Exception {
+        //given - precondition or setup
+        CompletableFuture<EmployeeChangesResponse> poll = employeeChangeFeed.poll(since, 100, 30);
+        employeeService.saveEmployee(employee("anna@gmail.com"));
+        // when -action or the behavior we are going to test
+        //what the relay of another node commits, without this node's relay taking part
+        jdbcTemplate.update("update employee_changes set feed_position = ? where feed_position is null", since + 1);
+        jdbcTemplate.update("merge into employee_change_feed (id, last_position) key (id) values (1, ?)", since + 1);
+        EmployeeChangesResponse response = poll.get(5, TimeUnit.SECONDS);
+        //then - verify the output
+        assertThat(response.getChanges()).extracting(EmployeeChangeResponse::email).containsExactly("anna@gmail.com");
+        assertThat(response.getNext()).isEqualTo(since + 1);
+    }
+
+    @DisplayName("JUnit test for long polls timing out on an idle feed")
+    @Test
+    public void givenIdleFeed_whenPollsTimeOut_thenReturnEmptyPagesAndReleaseWaiters() throws Exception {
+        //given - precondition or setup
+        List<CompletableFuture<EmployeeChangesResponse>> polls = List.of(
+                employeeChangeFeed.poll(since, 100, 1),
+                employeeChangeFeed.poll(since, 100, 1),
+                employeeChangeFeed.poll(since, 100, 1));
+        assertThat(waiting()).isEqualTo(3);
+        // when -action or the behavior we are going to test
+        for (CompletableFuture<EmployeeChangesResponse> poll : polls) {
+            EmployeeChangesResponse response = poll.get(5, TimeUnit.SECONDS);
+            //then - verify the output
+            assertThat(response.getChanges()).isEmpty();
+            assertThat(response.getNext()).isEqualTo(since);
+        }
+        assertThat(waiting()).isZero();
+    }
+
+    @DisplayName("JUnit test for a consumer behind the purged changes")
+    @Test
+    public void givenPurgedChanges_whenGetChanges_thenThrowsChangesExpiredException() {
+        //given - precondition or setup
+        employeeService.saveEmployee(employee("anna@gmail.com"));
+        employeeService.saveEmployee(employee("boris@gmail.com"));
+        employeeChangeRelay.relay();
+        jdbcTemplate.update("update employee_changes set created_at = dateadd('DAY', -2, created_at)");
+        // when -action or the behavior we are going to test
+        employeeChangeRelay.purge();
+        //then - verify the output
+        assertThat(employeeChangeRepository.count()).isEqualTo(1);
+        assertThrows(ChangesExpiredException.class, () -> employeeService.getChanges(since, 100));
+        assertThat(employeeService.getChanges(since + 1, 100).getChanges()).hasSize(1);
+    }
+
+    private double waiting() {
+        return meterRegistry.get(EmployeeChangeFeed.WAITING_METRIC).gauge().value();
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("Michael")
+                .lastName("Royf")
+                .email(email)
+                .build();
+    }
+}
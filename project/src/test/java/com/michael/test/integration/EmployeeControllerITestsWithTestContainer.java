@@ -77,6 +77,36 @@ public class EmployeeControllerITestsWithTestContainer extends AbstractionContai
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
     }
 
+    @DisplayName("JUnit test for bulk create employees REST API")
+    @Test
+    public void givenEmployeeList_whenCreateEmployees_thenSaveNewAndRejectExisting() throws Exception {
+        //given - precondition or setup
+        employeeRepository.save(employee);
+        List<Employee> employeeList = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            employeeList.add(Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("bulk" + i + "@gmail.com")
+                    .build());
+        }
+        employeeList.add(Employee.builder()
+                .firstName(first_name)
+                .lastName(last_Name)
+                .email(email)
+                .build());
+        // when -action or the behavior we are going to test
+        ResultActions response = mockMvc.perform(post("/api/v1/employee/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeList)));
+        //then - verify the output
+        response
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created", CoreMatchers.is(120)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failed", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.results[120].created", CoreMatchers.is(false)));
+    }
+
     @DisplayName("JUnit test for get all employees REST API")
     @Test
     public void givenEmployeeList_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
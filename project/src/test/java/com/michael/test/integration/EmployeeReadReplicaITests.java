@@ -0,0 +1,139 @@
+package com.michael.test.integration;
+
+import com.michael.test.config.ReadYourWritesFilter;
+import com.michael.test.entity.Employee;
+import com.michael.test.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//two in-memory H2 databases stand in for the MySQL primary and replica; nothing replicates between them,
+//so every row tells which one answered
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "employee.datasource.replica.url=jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "employee.datasource.replica.read-your-writes-window=1s",
+        //the replica database here has no change feed tables
+        "employee.changes.relay.enabled=false",
+        "employee.changes.feed.refresh-interval=PT1H"
+})
+public class EmployeeReadReplicaITests {
+
+    private static final long READ_YOUR_WRITES_WINDOW_MILLIS = 1000;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ReadYourWritesFilter readYourWritesFilter;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setup() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        primary.update("delete from employees");
+        replica.execute("create table if not exists employees (id bigint primary key, first_name varchar(255) not null," +
+                " last_name varchar(255) not null, email varchar(255) not null unique, first_name_key varchar(4)," +
+                " last_name_key varchar(4), version bigint not null)");
+        replica.update("delete from employees");
+        replica.update("insert into employees (id, first_name, last_name, email, version) values (100, 'Replica', 'Row', 'replica@gmail.com', 0)");
+    }
+
+    @DisplayName("JUnit test for read-only service methods reading from the replica")
+    @Test
+    public void givenRowOnlyOnReplica_whenReadEmployees_thenReturnReplicaRow() {
+        //given - precondition or setup
+        // when -action or the behavior we are going to test
+        Employee byId = employeeService.getById(100L);
+        Employee byEmail = employeeService.getByEmail("replica@gmail.com");
+        //then - verify the output
+        assertThat(byId.getFirstName()).isEqualTo("Replica");
+        assertThat(byEmail.getId()).isEqualTo(100L);
+        assertThat(employeeService.getAllEmployee()).extracting(Employee::getId).containsExactly(100L);
+    }
+
+    @DisplayName("JUnit test for writes going to the primary and the writing client reading them within the read-your-writes window")
+    @Test
+    public void givenSavedEmployee_whenSameClientReadsWithinWindow_thenReadFromPrimary() throws Exception {
+        //given - precondition or setup
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        List<Employee> sameRequest = new ArrayList<>();
+        readYourWritesFilter.doFilter(new MockHttpServletRequest(), writeResponse, (request, response) -> {
+            employeeService.saveEmployee(Employee.builder()
+                    .firstName("Primary")
+                    .lastName("Row")
+                    .email("primary@gmail.com")
+                    .build());
+            sameRequest.addAll(employeeService.getAllEmployee());
+        });
+        String writtenAt = writeResponse.getHeader(ReadYourWritesFilter.WRITTEN_AT_HEADER);
+        // when -action or the behavior we are going to test
+        List<Employee> withinWindow = getAllEmployee(writtenAt);
+        List<Employee> otherClient = getAllEmployee(null);
+        TimeUnit.MILLISECONDS.sleep(READ_YOUR_WRITES_WINDOW_MILLIS + 100);
+        List<Employee> afterWindow = getAllEmployee(writtenAt);
+        //then - verify the output
+        assertThat(writtenAt).isNotNull();
+        assertThat(primary.queryForObject("select count(*) from employees", Integer.class)).isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from employees where email = 'primary@gmail.com'", Integer.class)).isZero();
+        assertThat(sameRequest).extracting(Employee::getEmail).containsExactly("primary@gmail.com");
+        assertThat(withinWindow).extracting(Employee::getEmail).containsExactly("primary@gmail.com");
+        assertThat(otherClient).extracting(Employee::getId).containsExactly(100L);
+        assertThat(afterWindow).extracting(Employee::getId).containsExactly(100L);
+    }
+
+    @DisplayName("JUnit test for writes outside a request, like the change relay's, not pinning reads to the primary")
+    @Test
+    public void givenWriteOutsideRequest_whenReadEmployees_thenReturnReplicaRow() {
+        //given - precondition or setup
+        employeeService.saveEmployee(Employee.builder()
+                .firstName("Background")
+                .lastName("Row")
+                .email("background@gmail.com")
+                .build());
+        // when -action or the behavior we are going to test
+        List<Employee> employees = employeeService.getAllEmployee();
+        //then - verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(100L);
+    }
+
+    private List<Employee> getAllEmployee(String writtenAt) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (writtenAt != null) {
+            request.addHeader(ReadYourWritesFilter.WRITTEN_AT_HEADER, writtenAt);
+        }
+        List<Employee> employees = new ArrayList<>();
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(), (filteredRequest, response) ->
+                employees.addAll(employeeService.getAllEmployee()));
+        return employees;
+    }
+}
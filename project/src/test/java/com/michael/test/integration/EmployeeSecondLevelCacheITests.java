@@ -0,0 +1,175 @@
+package com.michael.test.integration;
+
+import com.michael.test.cache.EmployeeCache;
+import com.michael.test.entity.Employee;
+import com.michael.test.payload.request.EmployeePatchRequest;
+import com.michael.test.payload.request.BulkDeleteRequest;
+import com.michael.test.payload.request.EmployeeRequest;
+import com.michael.test.payload.response.BulkDeleteResponse;
+import com.michael.test.payload.response.EmployeeResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//the whole application on an in-memory H2 with the Hibernate second-level cache configured as in production
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+public class EmployeeSecondLevelCacheITests {
+
+    private static final String EMPLOYEE_URL = "/api/v1/employee";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private EmployeeCache employeeCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        //the default HttpURLConnection factory cannot send PATCH
+        restTemplate.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+        jdbcTemplate.update("delete from employee_changes");
+        jdbcTemplate.update("delete from employees");
+        //the JCache regions are shared by every context in the JVM and JDBC deletes bypass them
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @DisplayName("JUnit test for employee reads answered by the second-level cache")
+    @Test
+    public void givenCreatedEmployee_whenGetEmployeeById_thenReadFromSecondLevelCache() {
+        //given - precondition or setup
+        EmployeeResponse created = restTemplate.postForObject(EMPLOYEE_URL, request("Michael", "michael@gmail.com"), EmployeeResponse.class);
+        //only the second-level cache is left to answer
+        employeeCache.evict(created.id());
+        statistics.clear();
+        // when -action or the behavior we are going to test
+        ResponseEntity<EmployeeResponse> response = restTemplate.getForEntity(EMPLOYEE_URL + "/id/" + created.id(), EmployeeResponse.class);
+        //then - verify the output
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(created);
+        assertThat(statistics.getDomainDataRegionStatistics("employee-entities").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(Employee.class.getName()).getLoadCount()).isZero();
+    }
+
+    @DisplayName("JUnit test for a patch read back through the second-level cache")
+    @Test
+    public void givenCachedEmployee_whenPatchThenGet_thenReturnPatchedEmployee() {
+        //given - precondition or setup
+        EmployeeResponse created = restTemplate.postForObject(EMPLOYEE_URL, request("Michael", "michael@gmail.com"), EmployeeResponse.class);
+        EmployeeResponse other = restTemplate.postForObject(EMPLOYEE_URL, request("Anna", "anna@gmail.com"), EmployeeResponse.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch("\"0\"");
+        // when -action or the behavior we are going to test
+        ResponseEntity<EmployeeResponse> patched = restTemplate.exchange(EMPLOYEE_URL + "/id/" + created.id(), HttpMethod.PATCH,
+                new HttpEntity<>(EmployeePatchRequest.builder().firstName("Mike").build(), headers), EmployeeResponse.class);
+        ResponseEntity<EmployeeResponse> fetched = restTemplate.getForEntity(EMPLOYEE_URL + "/id/" + created.id(), EmployeeResponse.class);
+        //then - verify the output
+        assertThat(patched.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(patched.getHeaders().getETag()).isEqualTo("\"1\"");
+        assertThat(patched.getBody().firstName()).isEqualTo("Mike");
+        assertThat(fetched.getBody().firstName()).isEqualTo("Mike");
+        assertThat(fetched.getHeaders().getETag()).isEqualTo("\"1\"");
+        assertThat(jdbcTemplate.queryForMap("select first_name, version from employee_changes where type = 'UPDATED'"))
+                .containsEntry("first_name", "Mike")
+                .containsEntry("version", 1L);
+        //the patch replaced only its own entry, the other employee is still served from the second-level cache
+        employeeCache.evict(other.id());
+        statistics.clear();
+        assertThat(restTemplate.getForObject(EMPLOYEE_URL + "/id/" + other.id(), EmployeeResponse.class)).isEqualTo(other);
+        assertThat(statistics.getDomainDataRegionStatistics("employee-entities").getHitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for deletes evicting only their own second-level cache entries")
+    @Test
+    public void givenCachedEmployees_whenDeleteOne_thenOthersStayCached() {
+        //given - precondition or setup
+        EmployeeResponse deleted = restTemplate.postForObject(EMPLOYEE_URL, request("Michael", "michael@gmail.com"), EmployeeResponse.class);
+        EmployeeResponse other = restTemplate.postForObject(EMPLOYEE_URL, request("Anna", "anna@gmail.com"), EmployeeResponse.class);
+        // when -action or the behavior we are going to test
+        restTemplate.delete(EMPLOYEE_URL + "/id/" + deleted.id());
+        employeeCache.evict(other.id());
+        statistics.clear();
+        ResponseEntity<String> missing = restTemplate.getForEntity(EMPLOYEE_URL + "/id/" + deleted.id(), String.class);
+        EmployeeResponse fetched = restTemplate.getForObject(EMPLOYEE_URL + "/id/" + other.id(), EmployeeResponse.class);
+        //then - verify the output
+        assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(fetched).isEqualTo(other);
+        assertThat(statistics.getDomainDataRegionStatistics("employee-entities").getHitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for bulk deletes counting and evicting only the removed employees")
+    @Test
+    public void givenCachedEmployees_whenBulkDelete_thenCountRemovedAndOthersStayCached() {
+        //given - precondition or setup
+        EmployeeResponse first = restTemplate.postForObject(EMPLOYEE_URL, request("Michael", "michael@gmail.com"), EmployeeResponse.class);
+        EmployeeResponse second = restTemplate.postForObject(EMPLOYEE_URL, request("Anna", "anna@gmail.com"), EmployeeResponse.class);
+        EmployeeResponse other = restTemplate.postForObject(EMPLOYEE_URL, request("Lena", "lena@gmail.com"), EmployeeResponse.class);
+        // when -action or the behavior we are going to test
+        BulkDeleteResponse response = restTemplate.postForObject(EMPLOYEE_URL + "/bulk-delete",
+                BulkDeleteRequest.builder().ids(List.of(first.id(), second.id(), other.id() + 1000)).build(), BulkDeleteResponse.class);
+        employeeCache.evict(other.id());
+        statistics.clear();
+        EmployeeResponse fetched = restTemplate.getForObject(EMPLOYEE_URL + "/id/" + other.id(), EmployeeResponse.class);
+        //then - verify the output
+        assertThat(response.getRequested()).isEqualTo(3);
+        assertThat(response.getDeleted()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from employee_changes where type = 'DELETED'", Long.class)).isEqualTo(2L);
+        assertThat(restTemplate.getForEntity(EMPLOYEE_URL + "/id/" + first.id(), String.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(fetched).isEqualTo(other);
+        assertThat(statistics.getDomainDataRegionStatistics("employee-entities").getHitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for bulk reads leaving the second-level cache untouched")
+    @Test
+    public void givenEmployees_whenListPageSearchAndExport_thenNothingPutInSecondLevelCache() {
+        //given - precondition or setup
+        restTemplate.postForObject(EMPLOYEE_URL, request("Michael", "michael@gmail.com"), EmployeeResponse.class);
+        restTemplate.postForObject(EMPLOYEE_URL, request("Anna", "anna@gmail.com"), EmployeeResponse.class);
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        // when -action or the behavior we are going to test
+        ResponseEntity<String> all = restTemplate.getForEntity(EMPLOYEE_URL, String.class);
+        ResponseEntity<String> page = restTemplate.getForEntity(EMPLOYEE_URL + "/page?size=10", String.class);
+        ResponseEntity<String> search = restTemplate.getForEntity(EMPLOYEE_URL + "/search?q=Royf", String.class);
+        ResponseEntity<String> export = restTemplate.getForEntity(EMPLOYEE_URL + "/export", String.class);
+        //then - verify the output
+        assertThat(all.getBody()).contains("michael@gmail.com", "anna@gmail.com");
+        assertThat(page.getBody()).contains("michael@gmail.com", "anna@gmail.com");
+        assertThat(search.getBody()).contains("michael@gmail.com", "anna@gmail.com");
+        assertThat(export.getBody()).contains("michael@gmail.com", "anna@gmail.com");
+        assertThat(statistics.getDomainDataRegionStatistics("employee-entities").getPutCount()).isZero();
+    }
+
+    private static EmployeeRequest request(String firstName, String email) {
+        return new EmployeeRequest(firstName, "Royf", email);
+    }
+}
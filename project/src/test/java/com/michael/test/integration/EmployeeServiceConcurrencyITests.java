@@ -0,0 +1,74 @@
+package com.michael.test.integration;
+
+import com.michael.test.entity.Employee;
+import com.michael.test.exceptions.EmailExistException;
+import com.michael.test.repository.EmployeeRepository;
+import com.michael.test.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class EmployeeServiceConcurrencyITests extends AbstractionContainerBaseTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    @DisplayName("JUnit test for concurrent create employee with the same email")
+    @Test
+    public void givenSameEmailFromManyThreads_whenSaveEmployee_thenExactlyOneIsCreated() throws Exception {
+        //given - precondition or setup
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    employeeService.saveEmployee(Employee.builder()
+                            .firstName("Michael")
+                            .lastName("Royf")
+                            .email("michael@gmail.com")
+                            .build());
+                    return true;
+                } catch (EmailExistException exception) {
+                    return false;
+                }
+            }));
+        }
+        // when -action or the behavior we are going to test
+        start.countDown();
+        int created = 0;
+        for (Future<Boolean> future : futures) {
+            //any other exception than EmailExistException fails the test here
+            if (future.get()) {
+                created++;
+            }
+        }
+        executor.shutdown();
+        //then - verify the output
+        assertThat(created).isEqualTo(1);
+        assertThat(employeeRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,127 @@
+package com.michael.test.integration;
+
+import com.michael.test.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerITests extends AbstractionContainerBaseTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private Employee employee;
+    private String first_name = "Michael";
+    private String last_Name = "Royf";
+    private String email = "michael@gmail.com";
+
+    @DynamicPropertySource
+    public static void r2dbcPropertySource(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> String.format("r2dbc:mysql://%s:%d/%s",
+                MY_SQL_CONTAINER.getHost(),
+                MY_SQL_CONTAINER.getMappedPort(3306),
+                MY_SQL_CONTAINER.getDatabaseName()));
+        registry.add("spring.r2dbc.username", MY_SQL_CONTAINER::getUsername);
+        registry.add("spring.r2dbc.password", MY_SQL_CONTAINER::getPassword);
+    }
+
+    @BeforeEach
+    void setup() {
+        databaseClient.sql("delete from employees").fetch().rowsUpdated().block();
+        employee = Employee.builder()
+                .firstName(first_name)
+                .lastName(last_Name)
+                .email(email)
+                .build();
+    }
+
+    @DisplayName("Integration test for create and get employee reactive REST API")
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnItById() {
+        //given - precondition or setup
+        Employee saved = webTestClient.post().uri("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Employee.class)
+                .returnResult()
+                .getResponseBody();
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/employee/id/{id}", saved.getId()).exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(email);
+    }
+
+    @DisplayName("Integration test for create employee reactive REST API with an existing email")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenReturn409() {
+        //given - precondition or setup
+        webTestClient.post().uri("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isCreated();
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+        //then - verify the output
+        response.expectStatus().isEqualTo(409);
+    }
+
+    @DisplayName("Integration test for streaming all employees reactive REST API")
+    @Test
+    public void givenListOfEmployees_whenGetAllEmployeesAsNdjson_thenStreamAll() {
+        //given - precondition or setup
+        for (int i = 0; i < 3; i++) {
+            webTestClient.post().uri("/api/v1/employee")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Employee.builder().firstName(first_name).lastName(last_Name).email(i + email).build())
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/v1/employee")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBodyList(Employee.class)
+                .hasSize(3);
+    }
+
+    @DisplayName("Integration test for delete employee reactive REST API")
+    @Test
+    public void givenEmployeeId_whenDeleteTwice_thenReturn404() {
+        //given - precondition or setup
+        Employee saved = webTestClient.post().uri("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange()
+                .expectBody(Employee.class)
+                .returnResult()
+                .getResponseBody();
+        webTestClient.delete().uri("/api/v1/employee/id/{id}", saved.getId()).exchange().expectStatus().isOk();
+        // when -action or the behavior we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.delete().uri("/api/v1/employee/id/{id}", saved.getId()).exchange();
+        //then - verify the output
+        response.expectStatus().isNotFound();
+    }
+}
@@ -1,16 +1,25 @@
 package com.michael.test.repository;
 
 import com.michael.test.entity.Employee;
+import com.michael.test.entity.EmployeeChange;
 import com.michael.test.integration.AbstractionContainerBaseTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -22,6 +31,12 @@ public class EmployeeRepositoryTests extends AbstractionContainerBaseTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Employee employee;
     private String first_name = "Michael";
     private String last_Name = "Royf";
@@ -86,6 +101,127 @@ public class EmployeeRepositoryTests extends AbstractionContainerBaseTest {
     }
 
 
+    @DisplayName("JUnit test for find by email in method")
+    @Test
+    public void givenEmployeeList_whenFindByEmailIn_thenReturnOnlyMatchingEmployees() {
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Anna")
+                .lastName("Karenina")
+                .email("anna@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+        // when -action or the behavior we are going to test
+        List<Employee> employees = employeeRepository.findByEmailIn(List.of(email, "nobody@gmail.com"));
+        //then - verify the output
+        assertThat(employees).containsExactly(employee);
+    }
+
+
+    @DisplayName("JUnit test for keyset page method")
+    @Test
+    public void givenEmployeeList_whenFindByIdGreaterThan_thenReturnNextEmployees() {
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Anna")
+                .lastName("Karenina")
+                .email("anna@gmail.com")
+                .build();
+        employee = employeeRepository.save(employee);
+        employee1 = employeeRepository.save(employee1);
+        // when -action or the behavior we are going to test
+        List<Employee> firstPage = employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1));
+        List<Employee> secondPage = employeeRepository.findByIdGreaterThanOrderByIdAsc(employee.getId(), Limit.of(1));
+        //then - verify the output
+        assertThat(firstPage).containsExactly(employee);
+        assertThat(secondPage).containsExactly(employee1);
+    }
+
+
+    @DisplayName("JUnit test for search by name method")
+    @Test
+    public void givenEmployeeList_whenSearchByName_thenMatchPrefixAndMisspelledName() {
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Anna")
+                .lastName("Karenina")
+                .email("anna@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+        // when -action or the behavior we are going to test
+        List<Employee> byPrefix = employeeRepository.searchByName("Kar%", Employee.nameKey("Kar"), 0L, Limit.of(10));
+        List<Employee> byTypo = employeeRepository.searchByName("Micheal%", Employee.nameKey("Micheal"), 0L, Limit.of(10));
+        List<Employee> byFullName = employeeRepository.searchByFullName("Mi%", Employee.nameKey("Mi"),
+                "Roi%", Employee.nameKey("Roif"), 0L, Limit.of(10));
+        //then - verify the output
+        assertThat(byPrefix).containsExactly(employee1);
+        assertThat(byTypo).containsExactly(employee);
+        assertThat(byFullName).containsExactly(employee);
+    }
+
+
+    @DisplayName("JUnit test for saving and searching accented and non-Latin names")
+    @Test
+    public void givenAccentedAndNonLatinNames_whenSaveAndSearch_thenStoreFoldedKeys() {
+        //given - precondition or setup
+        Employee accented = Employee.builder()
+                .firstName("José")
+                .lastName("Müller")
+                .email("jose@gmail.com")
+                .build();
+        Employee cyrillic = Employee.builder()
+                .firstName("Иван")
+                .lastName("Петров")
+                .email("ivan@gmail.com")
+                .build();
+        // when -action or the behavior we are going to test
+        employeeRepository.saveAndFlush(accented);
+        employeeRepository.saveAndFlush(cyrillic);
+        //then - verify the output
+        assertThat(accented.getFirstNameKey()).isEqualTo("J200");
+        assertThat(accented.getLastNameKey()).isEqualTo("M460");
+        assertThat(cyrillic.getFirstNameKey()).isNull();
+        assertThat(employeeRepository.searchByName("Mul%", Employee.nameKey("Muller"), 0L, Limit.of(10))).containsExactly(accented);
+        assertThat(employeeRepository.searchByName("Ив%", Employee.nameKey("Ив"), 0L, Limit.of(10))).containsExactly(cyrillic);
+    }
+
+
+    @DisplayName("JUnit test for a dynamic update writing the recomputed name key")
+    @Test
+    public void givenSavedEmployee_whenUpdateFirstName_thenNameKeyWritten() {
+        //given - precondition or setup
+        employee = employeeRepository.saveAndFlush(employee);
+        // when -action or the behavior we are going to test
+        employee.setFirstName("Robert");
+        employeeRepository.saveAndFlush(employee);
+        //then - verify the output
+        assertThat(employee.getVersion()).isEqualTo(1L);
+        assertThat(employeeRepository.searchByName("Zz%", "R163", 0L, Limit.of(10))).containsExactly(employee);
+    }
+
+    @DisplayName("JUnit test for stream all employees method")
+    @Test
+    public void givenEmployeeList_whenStreamAll_thenReturnEmployeesInIdOrder() {
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Anna")
+                .lastName("Karenina")
+                .email("anna@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+        // when -action or the behavior we are going to test
+        List<Employee> employees;
+        try (Stream<Employee> stream = employeeRepository.streamAll()) {
+            employees = stream.toList();
+        }
+        //then - verify the output
+        assertThat(employees).containsExactly(employee, employee1);
+    }
+
+
     @DisplayName("JUnit test for get employee by id method")
     @Test
     public void givenEmployeeObject_whenFindById_thenReturnEmployeeObject() {
@@ -150,10 +286,9 @@ public class EmployeeRepositoryTests extends AbstractionContainerBaseTest {
         //given - precondition or setup
         employee = employeeRepository.save(employee);
         // when -action or the behavior we are going to test
-        Employee employeeDB = employeeRepository.findByJPQL(first_name, last_Name);
+        List<Employee> employeeDB = employeeRepository.findByJPQL(first_name, last_Name, PageRequest.of(0, 10));
         //then - verify the output
-        assertThat(employeeDB).isNotNull();
-        assertThat(employeeDB).isEqualTo(employee);
+        assertThat(employeeDB).containsExactly(employee);
     }
 
     @DisplayName("JUnit test for custom query using JPQL named params")
@@ -162,10 +297,9 @@ public class EmployeeRepositoryTests extends AbstractionContainerBaseTest {
         //given - precondition or setup
         employee = employeeRepository.save(employee);
         // when -action or the behavior we are going to test
-        Employee employeeDB = employeeRepository.findByJPQLNamedParams(first_name, last_Name);
+        List<Employee> employeeDB = employeeRepository.findByJPQLNamedParams(first_name, last_Name, PageRequest.of(0, 10));
         //then - verify the output
-        assertThat(employeeDB).isNotNull();
-        assertThat(employeeDB).isEqualTo(employee);
+        assertThat(employeeDB).containsExactly(employee);
     }
 
     @DisplayName("JUnit test for custom query using SQL with index")
@@ -174,10 +308,9 @@ public class EmployeeRepositoryTests extends AbstractionContainerBaseTest {
         //given - precondition or setup
         employee = employeeRepository.save(employee);
         // when -action or the behavior we are going to test
-        Employee employeeDB = employeeRepository.findByNativeSQL(first_name, last_Name);
+        List<Employee> employeeDB = employeeRepository.findByNativeSQL(first_name, last_Name, PageRequest.of(0, 10));
         //then - verify the output
-        assertThat(employeeDB).isNotNull();
-        assertThat(employeeDB).isEqualTo(employee);
+        assertThat(employeeDB).containsExactly(employee);
     }
 
     @DisplayName("JUnit test for custom query using SQL named params")
@@ -186,10 +319,115 @@ public class EmployeeRepositoryTests extends AbstractionContainerBaseTest {
         //given - precondition or setup
         employee = employeeRepository.save(employee);
         // when -action or the behavior we are going to test
-        Employee employeeDB = employeeRepository.findByNativeSQLNamed(first_name, last_Name);
+        List<Employee> employeeDB = employeeRepository.findByNativeSQLNamed(first_name, last_Name, PageRequest.of(0, 10));
         //then - verify the output
-        assertThat(employeeDB).isNotNull();
-        assertThat(employeeDB).isEqualTo(employee);
+        assertThat(employeeDB).containsExactly(employee);
+    }
+
+    @DisplayName("JUnit test for custom name queries with duplicated names")
+    @Test
+    public void givenEmployeesWithSameName_whenFindByName_thenReturnBoundedListInIdOrder() {
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName(first_name)
+                .lastName(last_Name)
+                .email("michael.royf@gmail.com")
+                .build();
+        employee = employeeRepository.save(employee);
+        employee1 = employeeRepository.save(employee1);
+        // when -action or the behavior we are going to test
+        List<Employee> jpqlPage = employeeRepository.findByJPQLNamedParams(first_name, last_Name, PageRequest.of(0, 1));
+        List<Employee> nativePage = employeeRepository.findByNativeSQLNamed(first_name, last_Name, PageRequest.of(1, 1));
+        //then - verify the output
+        assertThat(jpqlPage).containsExactly(employee);
+        assertThat(nativePage).containsExactly(employee1);
+    }
+
+    @DisplayName("JUnit test for table fingerprint query")
+    @Test
+    public void givenEmployeeChanges_whenFingerprint_thenFingerprintChanges() {
+        //given - precondition or setup
+        String empty = employeeRepository.fingerprint();
+        employee = employeeRepository.saveAndFlush(employee);
+        String inserted = employeeRepository.fingerprint();
+        // when -action or the behavior we are going to test
+        employee.setFirstName("Mike");
+        employeeRepository.saveAndFlush(employee);
+        String updated = employeeRepository.fingerprint();
+        //then - verify the output
+        assertThat(empty).isEqualTo("0-0-0-0");
+        assertThat(inserted).isNotEqualTo(empty);
+        assertThat(updated).isNotEqualTo(inserted);
+    }
+
+    @DisplayName("JUnit test for table fingerprint query when the employee aggregates repeat")
+    @Test
+    public void givenRecordedChange_whenFingerprint_thenFingerprintChangesWithSameAggregates() {
+        //given - precondition or setup
+        employee = employeeRepository.saveAndFlush(employee);
+        String before = employeeRepository.fingerprint();
+        // when -action or the behavior we are going to test
+        employeeChangeRepository.saveAndFlush(EmployeeChange.of(EmployeeChange.Type.UPDATED, employee));
+        String after = employeeRepository.fingerprint();
+        //then - verify the output
+        assertThat(after).startsWith(before.substring(0, before.lastIndexOf('-')));
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    //second-level cache entries only become visible once the writing transaction commits, so these run without
+    //the test transaction and clean up after themselves
+    @DisplayName("JUnit test for find by id served from the second-level cache")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenCommittedEmployee_whenFindById_thenReturnFromSecondLevelCache() {
+        //given - precondition or setup
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        employee = employeeRepository.save(employee);
+        statistics.clear();
+        // when -action or the behavior we are going to test
+        Optional<Employee> cachedEmployee = employeeRepository.findById(employee.getId());
+        //then - verify the output
+        assertThat(cachedEmployee).isPresent();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        employeeRepository.delete(employee);
+    }
+
+    @DisplayName("JUnit test for find by email resolved through the natural-id cache")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenCommittedEmployee_whenFindByEmail_thenResolveFromNaturalIdCache() {
+        //given - precondition or setup
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        employee = employeeRepository.save(employee);
+        statistics.clear();
+        // when -action or the behavior we are going to test
+        Optional<Employee> cachedEmployee = employeeRepository.findByEmail(email);
+        boolean exists = employeeRepository.existsByEmail(email);
+        //then - verify the output
+        assertThat(cachedEmployee).map(Employee::getId).contains(employee.getId());
+        assertThat(exists).isTrue();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        employeeRepository.delete(employee);
+    }
+
+    @DisplayName("JUnit test for name finder results served from the query cache")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenRepeatedNameQuery_whenFindByJPQL_thenReturnFromQueryCache() {
+        //given - precondition or setup
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        employee = employeeRepository.save(employee);
+        employeeRepository.findByJPQL(first_name, last_Name, PageRequest.of(0, 20));
+        statistics.clear();
+        // when -action or the behavior we are going to test
+        List<Employee> employees = employeeRepository.findByJPQL(first_name, last_Name, PageRequest.of(0, 20));
+        //then - verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(employee.getId());
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        employeeRepository.delete(employee);
     }
 
 }
@@ -0,0 +1,166 @@
+package com.michael.test.service;
+
+import com.michael.test.entity.Employee;
+import com.michael.test.repository.EmployeeRepository;
+import com.michael.test.service.impl.EmployeeLookupCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeLookupCoalescerTests {
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private MeterRegistry meterRegistry;
+    private Employee employee;
+    private Long employeeId = 1L;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        employee = Employee.builder()
+                .id(employeeId)
+                .firstName("Michael")
+                .lastName("Royf")
+                .email("michael@gmail.com")
+                .build();
+    }
+
+    @DisplayName("JUnit test for concurrent lookups of the same id")
+    @Test
+    public void givenConcurrentLookupsOfOneId_whenFindById_thenRunOneQuery() throws Exception {
+        //given - precondition or setup
+        EmployeeLookupCoalescer coalescer = new EmployeeLookupCoalescer(employeeRepository, TransactionOperations.withoutTransaction(), meterRegistry, Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+        given(employeeRepository.findById(employeeId)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // when -action or the behavior we are going to test
+        List<Future<Optional<Employee>>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> coalescer.findById(employeeId)));
+        }
+        //the query is held open until every caller has joined it
+        while (meterRegistry.counter(EmployeeLookupCoalescer.REQUESTS_METRIC, "key", "id").count() < threads) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        //then - verify the output
+        for (Future<Optional<Employee>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).contains(employee);
+        }
+        executor.shutdown();
+        verify(employeeRepository, times(1)).findById(employeeId);
+        assertThat(meterRegistry.get(EmployeeLookupCoalescer.RATIO_METRIC).tag("key", "id").gauge().value())
+                .isEqualTo(threads);
+    }
+
+    @DisplayName("JUnit test for lookups of different ids within the window")
+    @Test
+    public void givenDifferentIdsWithinWindow_whenFindById_thenRunOneInQuery() throws Exception {
+        //given - precondition or setup
+        EmployeeLookupCoalescer coalescer = new EmployeeLookupCoalescer(employeeRepository, TransactionOperations.withoutTransaction(), meterRegistry, Duration.ofMillis(500));
+        given(employeeRepository.findAllById(anyIterable())).willReturn(List.of(employee));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        //a slow lookup keeps the service busy so the next keys wait for company
+        CountDownLatch release = new CountDownLatch(1);
+        given(employeeRepository.findById(3L)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        Future<Optional<Employee>> busy = executor.submit(() -> coalescer.findById(3L));
+        verify(employeeRepository, timeout(5000)).findById(3L);
+        // when -action or the behavior we are going to test
+        Future<Optional<Employee>> found = executor.submit(() -> coalescer.findById(employeeId));
+        Future<Optional<Employee>> missing = executor.submit(() -> coalescer.findById(2L));
+        //then - verify the output
+        assertThat(found.get(5, TimeUnit.SECONDS)).contains(employee);
+        assertThat(missing.get(5, TimeUnit.SECONDS)).isEmpty();
+        release.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isEmpty();
+        executor.shutdown();
+        verify(employeeRepository, times(1)).findAllById(anyIterable());
+        verify(employeeRepository, never()).findById(employeeId);
+        verify(employeeRepository, never()).findById(2L);
+    }
+
+    @DisplayName("JUnit test for lookups of different emails within the window")
+    @Test
+    public void givenDifferentEmailsWithinWindow_whenFindByEmail_thenMatchCaseInsensitively() throws Exception {
+        //given - precondition or setup
+        EmployeeLookupCoalescer coalescer = new EmployeeLookupCoalescer(employeeRepository, TransactionOperations.withoutTransaction(), meterRegistry, Duration.ofMillis(500));
+        given(employeeRepository.findByEmailIn(anyList())).willReturn(List.of(employee));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        CountDownLatch release = new CountDownLatch(1);
+        given(employeeRepository.findByEmail("busy@gmail.com")).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        Future<Optional<Employee>> busy = executor.submit(() -> coalescer.findByEmail("busy@gmail.com"));
+        verify(employeeRepository, timeout(5000)).findByEmail("busy@gmail.com");
+        // when -action or the behavior we are going to test
+        Future<Optional<Employee>> found = executor.submit(() -> coalescer.findByEmail("MICHAEL@gmail.com"));
+        Future<Optional<Employee>> missing = executor.submit(() -> coalescer.findByEmail("nobody@gmail.com"));
+        //then - verify the output
+        assertThat(found.get(5, TimeUnit.SECONDS)).contains(employee);
+        assertThat(missing.get(5, TimeUnit.SECONDS)).isEmpty();
+        release.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isEmpty();
+        executor.shutdown();
+        verify(employeeRepository, times(1)).findByEmailIn(anyList());
+    }
+
+    @DisplayName("JUnit test for a lookup on an idle service")
+    @Test
+    public void givenNoOtherLookupInFlight_whenFindById_thenQueryWithoutWaitingOutTheWindow() {
+        //given - precondition or setup
+        EmployeeLookupCoalescer coalescer = new EmployeeLookupCoalescer(employeeRepository, TransactionOperations.withoutTransaction(), meterRegistry, Duration.ofSeconds(10));
+        given(employeeRepository.findById(employeeId)).willReturn(Optional.of(employee));
+        // when -action or the behavior we are going to test
+        long started = System.nanoTime();
+        Optional<Employee> found = coalescer.findById(employeeId);
+        //then - verify the output
+        assertThat(found).contains(employee);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+        verify(employeeRepository, never()).findAllById(anyIterable());
+    }
+
+    @DisplayName("JUnit test for a failing lookup")
+    @Test
+    public void givenFailingQuery_whenFindById_thenRethrowAndAllowRetry() {
+        //given - precondition or setup
+        EmployeeLookupCoalescer coalescer = new EmployeeLookupCoalescer(employeeRepository, TransactionOperations.withoutTransaction(), meterRegistry, Duration.ZERO);
+        given(employeeRepository.findById(employeeId))
+                .willThrow(new IllegalStateException("connection lost"))
+                .willReturn(Optional.of(employee));
+        // when -action or the behavior we are going to test
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalStateException.class, () -> coalescer.findById(employeeId));
+        //then - verify the output
+        assertThat(coalescer.findById(employeeId)).contains(employee);
+    }
+}
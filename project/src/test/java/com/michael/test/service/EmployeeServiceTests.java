@@ -1,33 +1,75 @@
 package com.michael.test.service;
 
+import com.michael.test.cache.EmployeeCache;
 import com.michael.test.entity.Employee;
+import com.michael.test.entity.EmployeeChange;
+import com.michael.test.exceptions.ChangesExpiredException;
+import com.michael.test.exceptions.EmailExistException;
 import com.michael.test.exceptions.EmployeeNotFoundException;
+import com.michael.test.exceptions.EmployeeVersionMismatchException;
+import com.michael.test.exceptions.InvalidCursorException;
+import com.michael.test.exceptions.InvalidSearchQueryException;
+import com.michael.test.payload.request.BatchGetRequest;
+import com.michael.test.payload.request.EmployeePatchRequest;
+import com.michael.test.payload.response.BatchGetResponse;
+import com.michael.test.payload.response.BulkDeleteResponse;
+import com.michael.test.payload.response.BulkEmployeeResponse;
+import com.michael.test.payload.response.BulkEmployeeResult;
+import com.michael.test.payload.response.EmployeeChangesResponse;
+import com.michael.test.payload.response.EmployeePageResponse;
+import com.michael.test.payload.response.EmployeeResponse;
+import com.michael.test.repository.EmployeeChangeRepository;
 import com.michael.test.repository.EmployeeRepository;
+import com.michael.test.service.impl.EmployeeBulkWriter;
+import com.michael.test.service.impl.EmployeeLookupCoalescer;
 import com.michael.test.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private EmployeeCache employeeCache;
+    @Mock
+    private EmployeeBulkWriter employeeBulkWriter;
+    @Mock
+    private EmployeeChangeRepository employeeChangeRepository;
     private EmployeeServiceImpl employeeService;  //not an interface
 
     private Employee employee;
@@ -40,6 +82,10 @@ public class EmployeeServiceTests {
     public void setup() {
 //        employeeRepository = Mockito.mock(EmployeeRepository.class);
 //        employeeService = new EmployeeServiceImpl(employeeRepository);
+        //a real coalescer over the mocked repository, without a batching window
+        employeeService = new EmployeeServiceImpl(employeeRepository, entityManager, employeeCache, employeeBulkWriter,
+                new EmployeeLookupCoalescer(employeeRepository, TransactionOperations.withoutTransaction(), new SimpleMeterRegistry(), Duration.ZERO),
+                employeeChangeRepository);
         employee = Employee.builder()
                 .id(employeeId)
                 .firstName(firstName)
@@ -52,29 +98,179 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
         //given - precondition or setup
-        given(employeeRepository.existsByEmail(email)).willReturn(Boolean.FALSE);
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
         // when -action or the behavior we are going to test
         Employee savedEmployee = employeeService.saveEmployee(employee);
         //then - verify the output
         assertThat(savedEmployee).isNotNull();
         assertThat(savedEmployee).isEqualTo(employee);
+        verify(employeeChangeRepository).save(argThat(change -> change.getType() == EmployeeChange.Type.CREATED
+                && email.equals(change.getEmail()) && change.getPosition() == null));
     }
 
     @DisplayName("Junit test for save Employee method which throws exception")
     @Test
     public void givenExistingEmail_whenSaveEmployee_thenReturnThrowsException() {
         //given - precondition or setup
-        given(employeeRepository.existsByEmail(email)).willReturn(Boolean.TRUE);
+        given(employeeRepository.saveAndFlush(employee)).willThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Duplicate entry 'michael@gmail.com' for key 'employees.email'", "23000", 1062)));
         // when -action or the behavior we are going to test
-        Assertions.assertThrows(EmployeeNotFoundException.class, () -> {
+        Assertions.assertThrows(EmailExistException.class, () -> {
             employeeService.saveEmployee(employee);
         });
         //then - verify the output
-        //проверяем, что метод сохранения в базу данных не запустится
+        //проверяем, что нет отдельного запроса на проверку email
+        verify(employeeRepository, never()).existsByEmail(any());
+        verify(employeeCache, never()).put(any(Employee.class));
+    }
+
+    @DisplayName("Junit test for save Employee method with other constraint violation")
+    @Test
+    public void givenMissingColumn_whenSaveEmployee_thenRethrowOriginalException() {
+        //given - precondition or setup
+        given(employeeRepository.saveAndFlush(employee)).willThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Column 'last_name' cannot be null", "23000", 1048)));
+        // when -action or the behavior we are going to test
+        //then - verify the output
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> employeeService.saveEmployee(employee));
+    }
+
+    @DisplayName("JUnit test for bulk save employees method")
+    @Test
+    public void givenEmployeeList_whenSaveEmployees_thenReportPerRowResult() {
+        //given - precondition or setup
+        Employee newEmployee = Employee.builder()
+                .firstName("Anna")
+                .lastName("Karenina")
+                .email("anna@gmail.com")
+                .build();
+        Employee duplicateInRequest = Employee.builder()
+                .firstName("Anna")
+                .lastName("Karenina")
+                .email("anna@gmail.com")
+                .build();
+        Employee invalidEmployee = Employee.builder()
+                .firstName("NoEmail")
+                .lastName("NoEmail")
+                .build();
+        given(employeeRepository.findExistingEmails(List.of(email, "anna@gmail.com"))).willReturn(Set.of(email));
+        given(employeeBulkWriter.insertChunk(List.of(newEmployee))).willAnswer(invocation -> {
+            newEmployee.setId(2L);
+            return List.of(newEmployee);
+        });
+        // when -action or the behavior we are going to test
+        BulkEmployeeResponse response = employeeService.saveEmployees(List.of(employee, newEmployee, duplicateInRequest, invalidEmployee));
+        //then - verify the output
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults().get(0).isCreated()).isFalse();
+        assertThat(response.getResults().get(1).isCreated()).isTrue();
+        assertThat(response.getResults().get(1).getId()).isEqualTo(2L);
+        assertThat(response.getResults().get(2).isCreated()).isFalse();
+        assertThat(response.getResults().get(3).isCreated()).isFalse();
         verify(employeeRepository, never()).save(any(Employee.class));
     }
 
+    @DisplayName("JUnit test for bulk save employees method with emails differing only in case")
+    @Test
+    public void givenMixedCaseDuplicates_whenSaveEmployees_thenReportThemWithoutFailingTheChunk() {
+        //given - precondition or setup
+        Employee newEmployee = Employee.builder()
+                .firstName("Anna")
+                .lastName("Karenina")
+                .email("anna@gmail.com")
+                .build();
+        Employee duplicateInRequest = Employee.builder()
+                .firstName("Anna")
+                .lastName("Karenina")
+                .email("Anna@Gmail.com")
+                .build();
+        Employee existingEmployee = Employee.builder()
+                .firstName("Michael")
+                .lastName("Royf")
+                .email("MICHAEL@gmail.com")
+                .build();
+        given(employeeRepository.findExistingEmails(List.of("anna@gmail.com", "MICHAEL@gmail.com"))).willReturn(Set.of(email));
+        given(employeeBulkWriter.insertChunk(List.of(newEmployee))).willAnswer(invocation -> {
+            newEmployee.setId(2L);
+            return List.of(newEmployee);
+        });
+        // when -action or the behavior we are going to test
+        BulkEmployeeResponse response = employeeService.saveEmployees(List.of(newEmployee, duplicateInRequest, existingEmployee));
+        //then - verify the output
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getResults().get(0).isCreated()).isTrue();
+        assertThat(response.getResults().get(1).isCreated()).isFalse();
+        assertThat(response.getResults().get(1).getMessage()).contains("duplicated in request");
+        assertThat(response.getResults().get(2).isCreated()).isFalse();
+        assertThat(response.getResults().get(2).getMessage()).contains("already exists");
+        verify(employeeBulkWriter).insertChunk(List.of(newEmployee));
+    }
+
+    @DisplayName("JUnit test for bulk save employees method when a chunk fails")
+    @Test
+    public void givenFailingChunk_whenSaveEmployees_thenReportRowsAsFailed() {
+        //given - precondition or setup
+        given(employeeRepository.findExistingEmails(List.of(email))).willReturn(Set.of());
+        given(employeeBulkWriter.insertChunk(List.of(employee)))
+                .willThrow(new DataIntegrityViolationException("Duplicate entry"));
+        // when -action or the behavior we are going to test
+        BulkEmployeeResponse response = employeeService.saveEmployees(List.of(employee));
+        //then - verify the output
+        assertThat(response.getCreated()).isZero();
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getEmail()).isEqualTo(email);
+    }
+
+    @DisplayName("JUnit test for bulk save employees method when one row of a chunk breaks a constraint")
+    @Test
+    public void givenChunkWithOneBadRow_whenSaveEmployees_thenSplitChunkAndReportEachRow() {
+        //given - precondition or setup
+        List<Employee> rows = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            rows.add(Employee.builder()
+                    .firstName("Row")
+                    .lastName("Number" + i)
+                    .email("row" + i + "@gmail.com")
+                    .build());
+        }
+        given(employeeRepository.findExistingEmails(anyList())).willReturn(Set.of());
+        given(employeeBulkWriter.insertChunk(anyList())).willAnswer(invocation -> {
+            List<Employee> chunk = invocation.getArgument(0);
+            if (chunk.contains(rows.get(3))) {
+                throw new DuplicateKeyException("Duplicate entry");
+            }
+            chunk.forEach(employee -> employee.setId((long) rows.indexOf(employee) + 1));
+            return chunk;
+        });
+        // when -action or the behavior we are going to test
+        BulkEmployeeResponse response = employeeService.saveEmployees(rows);
+        //then - verify the output
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BulkEmployeeResult::getId).containsExactly(1L, 2L, 3L, null);
+        assertThat(response.getResults().get(3).getMessage()).isEqualTo("Employee with email: row3@gmail.com already exists");
+        verify(employeeBulkWriter).insertChunk(rows);
+        verify(employeeBulkWriter).insertChunk(rows.subList(0, 2));
+        verify(employeeBulkWriter).insertChunk(rows.subList(2, 4));
+        verify(employeeBulkWriter).insertChunk(List.of(rows.get(3)));
+    }
+
+    @DisplayName("JUnit test for bulk save employees method when the database is unavailable")
+    @Test
+    public void givenUnavailableDatabase_whenSaveEmployees_thenFailChunkWithoutRetry() {
+        //given - precondition or setup
+        given(employeeRepository.findExistingEmails(List.of(email))).willReturn(Set.of());
+        given(employeeBulkWriter.insertChunk(List.of(employee)))
+                .willThrow(new DataAccessResourceFailureException("Connection refused"));
+        // when -action or the behavior we are going to test
+        BulkEmployeeResponse response = employeeService.saveEmployees(List.of(employee));
+        //then - verify the output
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getMessage()).contains("please retry");
+        verify(employeeBulkWriter, times(1)).insertChunk(anyList());
+    }
+
     @DisplayName("JUnit test for get all employee method")
     @Test
     public void givenEmployeeList_whenGetAllEmployees_thenReturnEmployeeList() {
@@ -108,6 +304,134 @@ public class EmployeeServiceTests {
         assertThat(employeeList).isEmpty();
     }
 
+    @DisplayName("JUnit test for get employee page method")
+    @Test
+    public void givenMoreEmployeesThanPageSize_whenGetEmployeePage_thenReturnPageWithNextCursor() {
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Anna")
+                .lastName("Karenina")
+                .email("anna@gmail.com")
+                .build();
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .willReturn(List.of(employee, employee1));
+        // when -action or the behavior we are going to test
+        EmployeePageResponse page = employeeService.getEmployeePage(null, 1);
+        //then - verify the output
+        assertThat(page.getContent()).containsExactly(EmployeeResponse.from(employee));
+        assertThat(page.getSize()).isEqualTo(1);
+        assertThat(page.getNextCursor()).isNotNull();
+
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(employeeId, Limit.of(2)))
+                .willReturn(List.of(employee1));
+        EmployeePageResponse nextPage = employeeService.getEmployeePage(page.getNextCursor(), 1);
+        assertThat(nextPage.getContent()).containsExactly(EmployeeResponse.from(employee1));
+        assertThat(nextPage.getNextCursor()).isNull();
+    }
+
+    @DisplayName("JUnit test for get employee page method with oversized page")
+    @Test
+    public void givenOversizedPage_whenGetEmployeePage_thenClampPageSize() {
+        //given - precondition or setup
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(EmployeeServiceImpl.MAX_PAGE_SIZE + 1)))
+                .willReturn(List.of(employee));
+        // when -action or the behavior we are going to test
+        EmployeePageResponse page = employeeService.getEmployeePage("", 1_000_000);
+        //then - verify the output
+        assertThat(page.getContent()).containsExactly(EmployeeResponse.from(employee));
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @DisplayName("JUnit test for get employee page method(negative scenario)")
+    @Test
+    public void givenInvalidCursor_whenGetEmployeePage_thenThrowsException() {
+        // when -action or the behavior we are going to test
+        Assertions.assertThrows(InvalidCursorException.class,
+                () -> employeeService.getEmployeePage("not a cursor", 10));
+        //then - verify the output
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @DisplayName("JUnit test for search employees method with one term")
+    @Test
+    public void givenSingleTerm_whenSearchEmployees_thenMatchPrefixOrSoundexKey() {
+        //given - precondition or setup
+        given(employeeRepository.searchByName("Micheal%", "M240", 0L, Limit.of(11)))
+                .willReturn(List.of(employee));
+        // when -action or the behavior we are going to test
+        EmployeePageResponse page = employeeService.searchEmployees(" Micheal ", null, 10);
+        //then - verify the output
+        assertThat(page.getContent()).containsExactly(EmployeeResponse.from(employee));
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @DisplayName("JUnit test for search employees method with accented and non-Latin names")
+    @Test
+    public void givenAccentedAndNonLatinTerms_whenSearchEmployees_thenFoldAccentsAndSkipTheKey() {
+        //given - precondition or setup
+        given(employeeRepository.searchByName("Müller%", "M460", 0L, Limit.of(11))).willReturn(List.of(employee));
+        given(employeeRepository.searchByName("Иван%", null, 0L, Limit.of(11))).willReturn(List.of());
+        // when -action or the behavior we are going to test
+        EmployeePageResponse accented = employeeService.searchEmployees("Müller", null, 10);
+        EmployeePageResponse cyrillic = employeeService.searchEmployees("Иван", null, 10);
+        //then - verify the output
+        assertThat(accented.getContent()).containsExactly(EmployeeResponse.from(employee));
+        assertThat(cyrillic.getContent()).isEmpty();
+        assertThat(Employee.nameKey("José")).isEqualTo(Employee.nameKey("Jose"));
+        assertThat(Employee.nameKey("Ævar Þór")).isEqualTo("V660");
+    }
+
+    @DisplayName("JUnit test for search employees method with first and last name")
+    @Test
+    public void givenTwoTerms_whenSearchEmployees_thenMatchFirstAndLastName() {
+        //given - precondition or setup
+        given(employeeRepository.searchByFullName("Mi%", "M000", "Ro%", "R000", 0L, Limit.of(2)))
+                .willReturn(List.of(employee, employee));
+        // when -action or the behavior we are going to test
+        EmployeePageResponse page = employeeService.searchEmployees("Mi Ro", null, 1);
+        //then - verify the output
+        assertThat(page.getContent()).containsExactly(EmployeeResponse.from(employee));
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @DisplayName("JUnit test for search employees method with LIKE wildcards in the query")
+    @Test
+    public void givenWildcardsInQuery_whenSearchEmployees_thenEscapeThem() {
+        //given - precondition or setup
+        given(employeeRepository.searchByName("!%!_!!%", null, 0L, Limit.of(51)))
+                .willReturn(List.of());
+        // when -action or the behavior we are going to test
+        EmployeePageResponse page = employeeService.searchEmployees("%_!", null, 50);
+        //then - verify the output
+        assertThat(page.getContent()).isEmpty();
+    }
+
+    @DisplayName("JUnit test for search employees method(negative scenario)")
+    @Test
+    public void givenTooShortQuery_whenSearchEmployees_thenThrowsException() {
+        // when -action or the behavior we are going to test
+        Assertions.assertThrows(InvalidSearchQueryException.class,
+                () -> employeeService.searchEmployees(" m ", null, 10));
+        //then - verify the output
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @DisplayName("JUnit test for export employees method")
+    @Test
+    public void givenEmployeeStream_whenExportEmployees_thenConsumeAndDetachEachEmployee() {
+        //given - precondition or setup
+        given(employeeRepository.streamAll()).willReturn(Stream.of(employee));
+        List<Employee> exported = new ArrayList<>();
+        // when -action or the behavior we are going to test
+        employeeService.exportEmployees(exported::add);
+        //then - verify the output
+        assertThat(exported).containsExactly(employee);
+        verify(entityManager).detach(employee);
+        verify(entityManager).setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        verify(entityManager).setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.USE);
+    }
+
     @DisplayName("JUnit test for get employee by id method")
     @Test
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
@@ -134,6 +458,117 @@ public class EmployeeServiceTests {
         verifyNoMoreInteractions(employeeRepository);
     }
 
+    @DisplayName("JUnit test for get employee by id method(not found exception is cheap)")
+    @Test
+    public void givenMissingEmployee_whenGetEmployeeById_thenThrowStacklessException() {
+        //given - precondition or setup
+        given(employeeRepository.findById(employeeId)).willReturn(Optional.empty());
+        // when -action or the behavior we are going to test
+        EmployeeNotFoundException exception = Assertions.assertThrows(EmployeeNotFoundException.class,
+                () -> employeeService.getById(employeeId));
+        //then - verify the output
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getMessage()).isEqualTo(String.format("Employee with id: %s not found", employeeId));
+    }
+
+    @DisplayName("JUnit test for get employee by id method(cache hit)")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeById_thenSkipRepository() {
+        //given - precondition or setup
+        given(employeeCache.getById(employeeId)).willReturn(Optional.of(employee));
+        // when -action or the behavior we are going to test
+        Employee cachedEmployee = employeeService.getById(employeeId);
+        //then - verify the output
+        assertThat(cachedEmployee).isEqualTo(employee);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @DisplayName("JUnit test for get employee by id method(cache miss)")
+    @Test
+    public void givenUncachedEmployee_whenGetEmployeeById_thenPopulateCache() {
+        //given - precondition or setup
+        given(employeeRepository.findById(employeeId)).willReturn(Optional.of(employee));
+        // when -action or the behavior we are going to test
+        employeeService.getById(employeeId);
+        //then - verify the output
+        verify(employeeCache).putLoaded(employee);
+    }
+
+    @DisplayName("JUnit test for get employee by email method(cache hit)")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeByEmail_thenSkipRepository() {
+        //given - precondition or setup
+        given(employeeCache.getByEmail(email)).willReturn(Optional.of(employee));
+        // when -action or the behavior we are going to test
+        Employee cachedEmployee = employeeService.getByEmail(email);
+        //then - verify the output
+        assertThat(cachedEmployee).isEqualTo(employee);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @DisplayName("JUnit test for batch get method")
+    @Test
+    public void givenIdsAndEmails_whenBatchGet_thenResolveCacheThenChunkedQueriesAndKeepMissingKeys() {
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Anna")
+                .lastName("Karenina")
+                .email("anna@gmail.com")
+                .build();
+        given(employeeCache.getById(employeeId)).willReturn(Optional.of(employee));
+        given(employeeRepository.findAllById(List.of(2L, 3L))).willReturn(List.of(employee1));
+        given(employeeRepository.findByEmailIn(List.of("ANNA@gmail.com", "nobody@gmail.com"))).willReturn(List.of(employee1));
+        BatchGetRequest request = BatchGetRequest.builder()
+                .ids(List.of(employeeId, 2L, 3L, 2L))
+                .emails(List.of("ANNA@gmail.com", "nobody@gmail.com"))
+                .build();
+        // when -action or the behavior we are going to test
+        BatchGetResponse response = employeeService.batchGet(request);
+        //then - verify the output
+        assertThat(response.getById()).containsExactly(
+                entry(employeeId, EmployeeResponse.from(employee)), entry(2L, EmployeeResponse.from(employee1)), entry(3L, null));
+        assertThat(response.getByEmail()).containsExactly(
+                entry("ANNA@gmail.com", EmployeeResponse.from(employee1)), entry("nobody@gmail.com", null));
+        verify(employeeCache, times(2)).putLoaded(employee1);
+    }
+
+    @DisplayName("JUnit test for batch get method with case variants of one email")
+    @Test
+    public void givenCaseVariantsOfOneEmail_whenBatchGet_thenAnswerEverySpellingFromOneLookup() {
+        //given - precondition or setup
+        given(employeeRepository.findByEmailIn(List.of("Michael@Gmail.com"))).willReturn(List.of(employee));
+        BatchGetRequest request = BatchGetRequest.builder()
+                .emails(List.of("Michael@Gmail.com", "MICHAEL@GMAIL.COM", "Michael@Gmail.com"))
+                .build();
+        // when -action or the behavior we are going to test
+        BatchGetResponse response = employeeService.batchGet(request);
+        //then - verify the output
+        assertThat(response.getByEmail()).containsExactly(
+                entry("Michael@Gmail.com", EmployeeResponse.from(employee)),
+                entry("MICHAEL@GMAIL.COM", EmployeeResponse.from(employee)));
+        verify(employeeRepository).findByEmailIn(List.of("Michael@Gmail.com"));
+        verify(employeeCache).putLoaded(employee);
+    }
+
+    @DisplayName("JUnit test for batch get method with more keys than one IN clause")
+    @Test
+    public void givenManyIds_whenBatchGet_thenQueryInChunks() {
+        //given - precondition or setup
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 2500; id++) {
+            ids.add(id);
+        }
+        // when -action or the behavior we are going to test
+        BatchGetResponse response = employeeService.batchGet(BatchGetRequest.builder().ids(ids).build());
+        //then - verify the output
+        assertThat(response.getById()).hasSize(2500);
+        assertThat(response.getByEmail()).isEmpty();
+        verify(employeeRepository).findAllById(ids.subList(0, 1000));
+        verify(employeeRepository).findAllById(ids.subList(1000, 2000));
+        verify(employeeRepository).findAllById(ids.subList(2000, 2500));
+    }
+
     @DisplayName("JUnit test for get employee by email method")
     @Test
     public void givenEmployeeEmail_whenGetEmployeeByEmail_thenReturnEmployeeObject() {
@@ -173,30 +608,195 @@ public class EmployeeServiceTests {
                 .email("newEmail@gmail.com")
                 .build();
         given(employeeRepository.findById(employeeId)).willReturn(Optional.of(employee));
-        given(employeeRepository.save(employee)).willReturn(newEmployee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(newEmployee);
         // when -action or the behavior we are going to test
         Employee result = employeeService.updateEmployee(employeeId, newEmployee);
         //then - verify the output'
         verify(employeeRepository).findById(employeeId);
-        verify(employeeRepository).save(employee);
+        verify(employeeRepository).saveAndFlush(employee);
+        verify(employeeChangeRepository).save(argThat(change -> change.getType() == EmployeeChange.Type.UPDATED));
+        verify(employeeCache).put(newEmployee);
         Assertions.assertEquals(newEmployee, result);
         Assertions.assertEquals(newEmployee.getFirstName(), result.getFirstName());
         Assertions.assertEquals(newEmployee.getLastName(), result.getLastName());
     }
 
 
+    @DisplayName("JUnit test for patch employee method")
+    @Test
+    public void givenPatchAndVersion_whenPatchEmployee_thenUpdateLoadedEntity() {
+        //given - precondition or setup
+        employee.setVersion(3L);
+        EmployeePatchRequest patch = EmployeePatchRequest.builder().lastName("Smith").build();
+        given(employeeRepository.findById(employeeId)).willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+        // when -action or the behavior we are going to test
+        Employee result = employeeService.patchEmployee(employeeId, patch, 3L);
+        //then - verify the output
+        verify(employeeRepository).saveAndFlush(employee);
+        verify(employeeChangeRepository).save(argThat(change -> change.getType() == EmployeeChange.Type.UPDATED
+                && "Smith".equals(change.getLastName())));
+        verify(employeeCache).evict(employeeId);
+        verify(employeeCache).put(employee);
+        assertThat(result.getFirstName()).isEqualTo(firstName);
+        assertThat(result.getLastName()).isEqualTo("Smith");
+    }
+
+    @DisplayName("JUnit test for patch employee method without a change")
+    @Test
+    public void givenUnchangedNames_whenPatchEmployee_thenSkipUpdate() {
+        //given - precondition or setup
+        EmployeePatchRequest patch = EmployeePatchRequest.builder().firstName(firstName).build();
+        given(employeeRepository.findById(employeeId)).willReturn(Optional.of(employee));
+        // when -action or the behavior we are going to test
+        Employee result = employeeService.patchEmployee(employeeId, patch, null);
+        //then - verify the output
+        verify(employeeRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(employeeChangeRepository);
+        Assertions.assertEquals(employee, result);
+    }
+
+    @DisplayName("JUnit test for patch employee method with a stale version")
+    @Test
+    public void givenStaleVersion_whenPatchEmployee_thenThrowsEmployeeVersionMismatchException() {
+        //given - precondition or setup
+        employee.setVersion(4L);
+        EmployeePatchRequest patch = EmployeePatchRequest.builder().firstName("Mike").build();
+        given(employeeRepository.findById(employeeId)).willReturn(Optional.of(employee));
+        // when -action or the behavior we are going to test
+        Assertions.assertThrows(EmployeeVersionMismatchException.class, () -> employeeService.patchEmployee(employeeId, patch, 3L));
+        //then - verify the output
+        verify(employeeRepository, never()).saveAndFlush(any());
+        assertThat(employee.getFirstName()).isEqualTo(firstName);
+    }
+
+    @DisplayName("JUnit test for patch employee method losing to a concurrent writer")
+    @Test
+    public void givenConcurrentUpdate_whenPatchEmployee_thenThrowsEmployeeVersionMismatchException() {
+        //given - precondition or setup
+        employee.setVersion(3L);
+        EmployeePatchRequest patch = EmployeePatchRequest.builder().firstName("Mike").build();
+        given(employeeRepository.findById(employeeId)).willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee)).willThrow(new ObjectOptimisticLockingFailureException(Employee.class, employeeId));
+        // when -action or the behavior we are going to test
+        Assertions.assertThrows(EmployeeVersionMismatchException.class, () -> employeeService.patchEmployee(employeeId, patch, 3L));
+        //then - verify the output
+        verifyNoInteractions(employeeChangeRepository);
+    }
+
+    @DisplayName("JUnit test for patch employee method with a missing employee")
+    @Test
+    public void givenMissingEmployee_whenPatchEmployee_thenThrowsEmployeeNotFoundException() {
+        //given - precondition or setup
+        EmployeePatchRequest patch = EmployeePatchRequest.builder().firstName("Mike").build();
+        given(employeeRepository.findById(employeeId)).willReturn(Optional.empty());
+        // when -action or the behavior we are going to test
+        Assertions.assertThrows(EmployeeNotFoundException.class, () -> employeeService.patchEmployee(employeeId, patch, null));
+    }
+
+
+    @DisplayName("JUnit test for employees fingerprint method")
+    @Test
+    public void givenEmployees_whenGetEmployeesFingerprint_thenReturnRepositoryFingerprint() {
+        //given - precondition or setup
+        given(employeeRepository.fingerprint()).willReturn("2-2-5");
+        // when -action or the behavior we are going to test
+        String fingerprint = employeeService.getEmployeesFingerprint();
+        //then - verify the output
+        assertThat(fingerprint).isEqualTo("2-2-5");
+        verify(employeeRepository, never()).findAll();
+    }
+
+
     @DisplayName("JUnit test for delete employee method")
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenReturnMessage() {
         //given - precondition or setup
         given(employeeRepository.findById(employeeId)).willReturn(Optional.of(employee));
-        willDoNothing().given(employeeRepository).delete(employee);
         // when -action or the behavior we are going to test
         employeeService.deleteEmployee(employeeId);
         //then - verify the output
-        verify(employeeRepository).findById(employeeId);
-        verify(employeeRepository, times(1)).delete(employee);
+        verify(employeeRepository).delete(employee);
+        verify(employeeChangeRepository).save(argThat(change -> change.getType() == EmployeeChange.Type.DELETED
+                && employeeId.equals(change.getEmployeeId())));
+        verify(employeeCache).evict(employeeId);
     }
 
+    @DisplayName("JUnit test for delete employee method with a missing employee")
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployee_thenThrowsEmployeeNotFoundException() {
+        //given - precondition or setup
+        given(employeeRepository.findById(employeeId)).willReturn(Optional.empty());
+        // when -action or the behavior we are going to test
+        Assertions.assertThrows(EmployeeNotFoundException.class, () -> employeeService.deleteEmployee(employeeId));
+        //then - verify the output
+        verify(employeeRepository, never()).delete(any());
+        verify(employeeCache).evict(employeeId);
+    }
+
+    @DisplayName("JUnit test for bulk delete employees method")
+    @Test
+    public void givenManyIds_whenDeleteEmployees_thenDeleteInChunks() {
+        //given - precondition or setup
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        ids.add(null);
+        given(employeeRepository.findByIdIn(anyList())).willReturn(
+                Collections.nCopies(1000, employee), Collections.nCopies(400, employee));
+        // when -action or the behavior we are going to test
+        BulkDeleteResponse response = employeeService.deleteEmployees(ids);
+        //then - verify the output
+        InOrder inOrder = inOrder(employeeRepository, employeeChangeRepository);
+        inOrder.verify(employeeRepository).findByIdIn(ids.subList(0, 1000));
+        inOrder.verify(employeeChangeRepository).recordChanges(eq(EmployeeChange.Type.DELETED), eq(ids.subList(0, 1000)), any());
+        verify(employeeRepository, times(2)).deleteAll(anyList());
+        verify(employeeChangeRepository, times(2)).recordChanges(eq(EmployeeChange.Type.DELETED), anyList(), any());
+        verify(employeeCache, times(1500)).evict(any(Long.class));
+        assertThat(response.getRequested()).isEqualTo(1500);
+        assertThat(response.getDeleted()).isEqualTo(1400);
+    }
+
+    @DisplayName("JUnit test for get changes method")
+    @Test
+    public void givenPublishedChanges_whenGetChanges_thenReturnPageAndNextPosition() {
+        //given - precondition or setup
+        given(employeeChangeRepository.findByPositionGreaterThanOrderByPositionAsc(4L, Limit.of(2)))
+                .willReturn(List.of(change(5L), change(6L)));
+        // when -action or the behavior we are going to test
+        EmployeeChangesResponse response = employeeService.getChanges(4, 2);
+        //then - verify the output
+        assertThat(response.getChanges()).extracting("position").containsExactly(5L, 6L);
+        assertThat(response.getNext()).isEqualTo(6L);
+    }
+
+    @DisplayName("JUnit test for get changes method without new changes")
+    @Test
+    public void givenNoNewChanges_whenGetChanges_thenReturnSamePosition() {
+        //given - precondition or setup
+        given(employeeChangeRepository.findByPositionGreaterThanOrderByPositionAsc(eq(6L), any(Limit.class))).willReturn(List.of());
+        // when -action or the behavior we are going to test
+        EmployeeChangesResponse response = employeeService.getChanges(6, 100);
+        //then - verify the output
+        assertThat(response.getChanges()).isEmpty();
+        assertThat(response.getNext()).isEqualTo(6L);
+    }
+
+    @DisplayName("JUnit test for get changes method behind the retention")
+    @Test
+    public void givenPurgedChanges_whenGetChanges_thenThrowsChangesExpiredException() {
+        //given - precondition or setup
+        given(employeeChangeRepository.findByPositionGreaterThanOrderByPositionAsc(eq(1L), any(Limit.class))).willReturn(List.of(change(40L)));
+        // when -action or the behavior we are going to test
+        Assertions.assertThrows(ChangesExpiredException.class, () -> employeeService.getChanges(1, 100));
+    }
+
+    private EmployeeChange change(long position) {
+        EmployeeChange change = EmployeeChange.of(EmployeeChange.Type.UPDATED, employee);
+        change.setPosition(position);
+        return change;
+    }
 
 }